@@ -0,0 +1,238 @@
+package algorithms;
+
+import models.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Burkhard-Keller tree over student names for typo-tolerant lookup. Every
+// name is indexed as the whole lower-cased name and as each of its words, so
+// "jonh" finds "John Smith" and "perera" finds "Pereira". Each node holds one
+// term, and the child for distance d holds terms exactly d edits away (by
+// Levenshtein distance). A query within k edits only descends into children
+// d - k .. d + k, by the triangle inequality, so small k touches a small part
+// of the tree.
+//
+// Removing a student only empties its terms' nodes; the empty nodes keep
+// routing queries and the tree is rebuilt once they outnumber the live ones.
+public class BKTree {
+    private static final int REBUILD_MINIMUM = 64;
+
+    private static final class Node {
+        final String term;
+        final List<Student> students = new ArrayList<>(1);
+        Node[] children;
+
+        Node(String term) {
+            this.term = term;
+        }
+
+        Node child(int distance) {
+            return children != null && distance < children.length ? children[distance] : null;
+        }
+
+        void setChild(int distance, Node node) {
+            if (children == null) {
+                children = new Node[distance + 1];
+            } else if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = node;
+        }
+    }
+
+    private Node root;
+    private final Map<String, Node> nodes;
+    private final Map<String, String[]> termsOf;
+    private int emptyNodes;
+
+    // Levenshtein rows reused between calls (all access is synchronized)
+    private int[] previousRow = new int[16];
+    private int[] currentRow = new int[16];
+
+    public BKTree() {
+        nodes = new HashMap<>();
+        termsOf = new HashMap<>();
+    }
+
+    // Index a student's name, replacing any previous entry with the same ID -
+    // O(t * h * L^2) for t terms, tree height h and name length L
+    public synchronized void add(Student student) {
+        remove(student.getStudentId());
+        String[] terms = termsOf(student.getName());
+        termsOf.put(student.getStudentId(), terms);
+        for (String term : terms) {
+            boolean known = nodes.containsKey(term);
+            Node node = insert(term);
+            if (known && node.students.isEmpty()) {
+                emptyNodes--;
+            }
+            node.students.add(student);
+        }
+    }
+
+    // Drop a student from the index
+    public synchronized boolean remove(String studentId) {
+        String[] terms = termsOf.remove(studentId);
+        if (terms == null) {
+            return false;
+        }
+        for (String term : terms) {
+            Node node = nodes.get(term);
+            node.students.removeIf(student -> student.getStudentId().equals(studentId));
+            if (node.students.isEmpty()) {
+                emptyNodes++;
+            }
+        }
+        if (emptyNodes > REBUILD_MINIMUM && emptyNodes > nodes.size() - emptyNodes) {
+            rebuild();
+        }
+        return true;
+    }
+
+    // Students with a name (or a word of it) within maxDistance edits of the
+    // text, closest first, then by name and ID; at most limit of them
+    public synchronized List<Student> search(String text, int maxDistance, int limit) {
+        String query = String.join(" ", tokens(text));
+        List<Student> results = new ArrayList<>();
+        if (query.isEmpty() || root == null || limit <= 0) {
+            return results;
+        }
+
+        // Best distance per student over all of its matching terms
+        Map<String, Integer> best = new HashMap<>();
+        Map<String, Student> matched = new HashMap<>();
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int distance = distance(query, node.term);
+            if (distance <= maxDistance) {
+                for (Student student : node.students) {
+                    Integer previous = best.get(student.getStudentId());
+                    if (previous == null || distance < previous) {
+                        best.put(student.getStudentId(), distance);
+                        matched.put(student.getStudentId(), student);
+                    }
+                }
+            }
+            if (node.children != null) {
+                int high = Math.min(distance + maxDistance, node.children.length - 1);
+                for (int d = Math.max(0, distance - maxDistance); d <= high; d++) {
+                    if (node.children[d] != null) {
+                        pending.add(node.children[d]);
+                    }
+                }
+            }
+        }
+
+        results.addAll(matched.values());
+        results.sort((a, b) -> {
+            int byDistance = Integer.compare(best.get(a.getStudentId()), best.get(b.getStudentId()));
+            if (byDistance != 0) {
+                return byDistance;
+            }
+            int byName = a.getName().compareToIgnoreCase(b.getName());
+            return byName != 0 ? byName : a.getStudentId().compareTo(b.getStudentId());
+        });
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    // Number of indexed students
+    public synchronized int getSize() {
+        return termsOf.size();
+    }
+
+    private Node insert(String term) {
+        Node existing = nodes.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        Node node = new Node(term);
+        nodes.put(term, node);
+        if (root == null) {
+            root = node;
+            return node;
+        }
+        Node current = root;
+        while (true) {
+            int distance = distance(term, current.term);
+            Node child = current.child(distance);
+            if (child == null) {
+                current.setChild(distance, node);
+                return node;
+            }
+            current = child;
+        }
+    }
+
+    private void rebuild() {
+        List<Node> live = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            if (!node.students.isEmpty()) {
+                live.add(node);
+            }
+        }
+        root = null;
+        nodes.clear();
+        emptyNodes = 0;
+        for (Node old : live) {
+            insert(old.term).students.addAll(old.students);
+        }
+    }
+
+    // The whole name plus each distinct word, lower-cased
+    private static String[] termsOf(String name) {
+        List<String> words = tokens(name);
+        Set<String> terms = new LinkedHashSet<>();
+        if (!words.isEmpty()) {
+            terms.add(String.join(" ", words));
+        }
+        terms.addAll(words);
+        return terms.toArray(new String[0]);
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // Levenshtein distance with two reused rows - O(|a| * |b|)
+    private int distance(String a, String b) {
+        int columns = b.length() + 1;
+        if (columns > previousRow.length) {
+            previousRow = new int[columns * 2];
+            currentRow = new int[columns * 2];
+        }
+        int[] previous = previousRow;
+        int[] current = currentRow;
+        for (int j = 0; j < columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j < columns; j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
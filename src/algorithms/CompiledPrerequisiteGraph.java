@@ -0,0 +1,308 @@
+package algorithms;
+
+import models.Course;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable, compiled form of the prerequisite graph. Course codes are
+// interned to dense ints (codes that are only named as prerequisites get an
+// id too) and each course's prerequisites are stored in compressed sparse
+// row form: the edges of course i are targets[offsets[i] .. offsets[i + 1]).
+// Queries run over primitive arrays with per-thread scratch space, so a
+// compiled graph can be shared by any number of threads.
+public class CompiledPrerequisiteGraph {
+    private final String[] codes;
+    private final Map<String, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+
+    // Reusable per-thread BFS/DFS state; a visit stamp replaces clearing
+    private final ThreadLocal<Scratch> scratch;
+
+    private static final class Scratch {
+        final int[] stamp;
+        final int[] parent;
+        final int[] queue;
+        final int[] edge;
+        final int[] wanted;
+        int round;
+
+        Scratch(int size) {
+            stamp = new int[size];
+            parent = new int[size];
+            queue = new int[size];
+            edge = new int[size];
+            wanted = new int[size];
+        }
+
+        int nextRound() {
+            if (++round == 0) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(wanted, 0);
+                round = 1;
+            }
+            return round;
+        }
+    }
+
+    private CompiledPrerequisiteGraph(String[] codes, Map<String, Integer> ids, int[] offsets, int[] targets) {
+        this.codes = codes;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(codes.length));
+    }
+
+    // Build the CSR arrays from the catalogue - O(V + E)
+    public static CompiledPrerequisiteGraph compile(Map<String, Course> courses) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> codes = new ArrayList<>();
+        for (String code : courses.keySet()) {
+            intern(code, ids, codes);
+        }
+        int courseCount = codes.size();
+
+        int edgeCount = 0;
+        for (int i = 0; i < courseCount; i++) {
+            edgeCount += courses.get(codes.get(i)).getPrerequisites().size();
+        }
+
+        int[] targets = new int[edgeCount];
+        int[] courseOffsets = new int[courseCount + 1];
+        int position = 0;
+        for (int i = 0; i < courseCount; i++) {
+            courseOffsets[i] = position;
+            for (String prerequisite : courses.get(codes.get(i)).getPrerequisites()) {
+                targets[position++] = intern(prerequisite, ids, codes);
+            }
+        }
+        courseOffsets[courseCount] = position;
+
+        // Codes interned while reading edges have no prerequisites of their own
+        int[] offsets = Arrays.copyOf(courseOffsets, codes.size() + 1);
+        Arrays.fill(offsets, courseCount + 1, offsets.length, position);
+        return new CompiledPrerequisiteGraph(codes.toArray(new String[0]), ids, offsets, targets);
+    }
+
+    private static int intern(String code, Map<String, Integer> ids, List<String> codes) {
+        Integer id = ids.get(code);
+        if (id == null) {
+            id = codes.size();
+            ids.put(code, id);
+            codes.add(code);
+        }
+        return id;
+    }
+
+    // Number of interned codes, including prerequisite-only ones
+    public int size() {
+        return codes.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    // Dense id of a course code, or -1 if the graph never saw it
+    public int idOf(String code) {
+        Integer id = ids.get(code);
+        return id == null ? -1 : id;
+    }
+
+    public String codeOf(int id) {
+        return codes[id];
+    }
+
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    // Shortest chain of prerequisite links from start to target, both
+    // included; empty if there is none. Every link costs the same, so this is
+    // a plain BFS - O(V + E) worst case, and it stops as soon as the target
+    // is discovered.
+    public List<String> shortestPath(String startCourse, String targetCourse) {
+        if (startCourse.equals(targetCourse)) {
+            List<String> path = new ArrayList<>();
+            path.add(startCourse);
+            return path;
+        }
+        int start = idOf(startCourse);
+        int target = idOf(targetCourse);
+        if (start < 0 || target < 0) {
+            return new ArrayList<>();
+        }
+
+        Scratch state = scratch.get();
+        int round = state.nextRound();
+        state.wanted[target] = round;
+        breadthFirst(state, round, start, 1);
+        return pathTo(state, round, start, target);
+    }
+
+    // Shortest paths from one start to many targets with a single BFS, in
+    // the order of the targets; each entry is as for shortestPath. The
+    // search stops once every target has been discovered - O(V + E) for the
+    // whole batch instead of per target.
+    public List<List<String>> shortestPaths(String startCourse, List<String> targetCourses) {
+        List<List<String>> paths = new ArrayList<>(targetCourses.size());
+        int start = idOf(startCourse);
+        Scratch state = scratch.get();
+        int round = state.nextRound();
+
+        int pending = 0;
+        if (start >= 0) {
+            for (String targetCourse : targetCourses) {
+                int target = idOf(targetCourse);
+                if (target >= 0 && target != start && state.wanted[target] != round) {
+                    state.wanted[target] = round;
+                    pending++;
+                }
+            }
+            if (pending > 0) {
+                breadthFirst(state, round, start, pending);
+            }
+        }
+
+        for (String targetCourse : targetCourses) {
+            int target = idOf(targetCourse);
+            if (startCourse.equals(targetCourse)) {
+                List<String> path = new ArrayList<>();
+                path.add(startCourse);
+                paths.add(path);
+            } else if (start < 0 || target < 0) {
+                paths.add(new ArrayList<>());
+            } else {
+                paths.add(pathTo(state, round, start, target));
+            }
+        }
+        return paths;
+    }
+
+    // BFS from start recording parents, stopping once the given number of
+    // wanted nodes (marked with this round) have been discovered
+    private void breadthFirst(Scratch state, int round, int start, int pending) {
+        int[] stamp = state.stamp;
+        int[] parent = state.parent;
+        int[] queue = state.queue;
+        int[] wanted = state.wanted;
+        int head = 0, tail = 0;
+
+        stamp[start] = round;
+        parent[start] = -1;
+        queue[tail++] = start;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int edge = offsets[current]; edge < offsets[current + 1]; edge++) {
+                int next = targets[edge];
+                if (stamp[next] != round) {
+                    stamp[next] = round;
+                    parent[next] = current;
+                    if (wanted[next] == round && --pending == 0) {
+                        return;
+                    }
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    private List<String> pathTo(Scratch state, int round, int start, int target) {
+        if (state.stamp[target] != round) {
+            return new ArrayList<>();
+        }
+        List<String> path = new ArrayList<>();
+        for (int node = target; node != -1; node = state.parent[node]) {
+            path.add(codes[node]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // All prerequisites reachable from a course in depth-first preorder (the
+    // course itself first). Iterative, so deep chains cannot overflow the stack.
+    public List<String> depthFirstOrder(String startCourse) {
+        List<String> traversal = new ArrayList<>();
+        int start = idOf(startCourse);
+        if (start < 0) {
+            traversal.add(startCourse);
+            return traversal;
+        }
+
+        Scratch state = scratch.get();
+        int round = state.nextRound();
+        int[] stamp = state.stamp;
+        int[] stack = state.queue;
+        int[] edge = state.edge;
+        int depth = 0;
+
+        stamp[start] = round;
+        traversal.add(codes[start]);
+        stack[depth] = start;
+        edge[depth++] = offsets[start];
+        while (depth > 0) {
+            int node = stack[depth - 1];
+            if (edge[depth - 1] == offsets[node + 1]) {
+                depth--;
+                continue;
+            }
+            int next = targets[edge[depth - 1]++];
+            if (stamp[next] != round) {
+                stamp[next] = round;
+                traversal.add(codes[next]);
+                stack[depth] = next;
+                edge[depth++] = offsets[next];
+            }
+        }
+        return traversal;
+    }
+
+    // True if some chain of prerequisites loops back on itself - O(V + E),
+    // iterative three-colour DFS
+    public boolean hasCycle() {
+        int n = codes.length;
+        byte[] colour = new byte[n];
+        int[] stack = new int[n];
+        int[] edge = new int[n];
+
+        for (int root = 0; root < n; root++) {
+            if (colour[root] != 0) {
+                continue;
+            }
+            int depth = 0;
+            colour[root] = 1;
+            stack[depth] = root;
+            edge[depth++] = offsets[root];
+            while (depth > 0) {
+                int node = stack[depth - 1];
+                if (edge[depth - 1] == offsets[node + 1]) {
+                    colour[node] = 2;
+                    depth--;
+                    continue;
+                }
+                int next = targets[edge[depth - 1]++];
+                if (colour[next] == 1) {
+                    return true;
+                }
+                if (colour[next] == 0) {
+                    colour[next] = 1;
+                    stack[depth] = next;
+                    edge[depth++] = offsets[next];
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,277 @@
+package algorithms;
+
+import models.Result;
+import models.Student;
+import utils.StudentRecordCodec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+// External merge sort for student sets larger than the heap. Students are
+// buffered until the memory budget is reached, sorted, and written as a run
+// file in the compact StudentRecordCodec format. finish() then does a k-way
+// merge of the runs with a heap and streams the result to a consumer. When
+// there are more runs than MAX_FAN_IN, groups of runs are first merged into
+// longer runs so the number of open files stays bounded.
+//
+// The sort is stable: runs hold consecutive input and ties across runs go to
+// the earlier run.
+public class ExternalMergeSort implements Closeable {
+    private static final int MAX_FAN_IN = 64;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    public enum SortKey { GPA, NAME, ID, DEPARTMENT }
+
+    private static final class Run {
+        final Path file;
+        final int count;
+
+        Run(Path file, int count) {
+            this.file = file;
+            this.count = count;
+        }
+    }
+
+    // Open run being merged, positioned on its next student
+    private static final class RunReader implements Closeable {
+        final DataInputStream in;
+        final StudentRecordCodec codec;
+        final int order;
+        int remaining;
+        Student head;
+
+        RunReader(Run run, int order) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file), IO_BUFFER_SIZE));
+            this.codec = new StudentRecordCodec();
+            this.order = order;
+            this.remaining = run.count;
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            remaining--;
+            head = codec.read(in);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private final Comparator<Student> comparator;
+    private final long memoryBudget;
+    private final Path tempDir;
+    private final List<Student> buffer;
+    private final List<Run> runs;
+    private long bufferedBytes;
+
+    // memoryBudget is the approximate heap, in bytes, that buffered students
+    // may use before they are spilled; tempDir holds the run files
+    public ExternalMergeSort(Comparator<Student> comparator, long memoryBudget, Path tempDir) {
+        this.comparator = comparator;
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+        this.buffer = new ArrayList<>();
+        this.runs = new ArrayList<>();
+    }
+
+    public ExternalMergeSort(SortKey key, boolean ascending, long memoryBudget, Path tempDir) {
+        this(comparatorFor(key, ascending), memoryBudget, tempDir);
+    }
+
+    // Sort a whole input in one call
+    public static void sort(Iterable<Student> students, SortKey key, boolean ascending,
+                            long memoryBudget, Path tempDir, Consumer<Student> output) throws IOException {
+        try (ExternalMergeSort sorter = new ExternalMergeSort(key, ascending, memoryBudget, tempDir)) {
+            for (Student student : students) {
+                sorter.add(student);
+            }
+            sorter.finish(output);
+        }
+    }
+
+    public static Comparator<Student> comparatorFor(SortKey key, boolean ascending) {
+        Comparator<Student> comparator;
+        switch (key) {
+            case GPA:
+                comparator = Comparator.comparingDouble(Student::calculateGPA);
+                break;
+            case NAME:
+                Collator collator = Collator.getInstance();
+                collator.setStrength(Collator.SECONDARY);
+                comparator = Comparator.comparing(Student::getName,
+                    Comparator.nullsFirst(collator::compare));
+                break;
+            case DEPARTMENT:
+                comparator = Comparator.comparing(Student::getDepartment,
+                    Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                break;
+            default:
+                comparator = Comparator.comparing(Student::getStudentId);
+                break;
+        }
+        return ascending ? comparator : comparator.reversed();
+    }
+
+    // Buffer a student, spilling a sorted run once the budget is used up
+    public void add(Student student) throws IOException {
+        buffer.add(student);
+        bufferedBytes += estimateSize(student);
+        if (bufferedBytes >= memoryBudget) {
+            spill();
+        }
+    }
+
+    // Stream every added student to the output in sorted order
+    public void finish(Consumer<Student> output) throws IOException {
+        if (runs.isEmpty()) {
+            buffer.sort(comparator);
+            buffer.forEach(output);
+            buffer.clear();
+            bufferedBytes = 0;
+            return;
+        }
+
+        spill();
+        while (runs.size() > MAX_FAN_IN) {
+            List<Run> merged = new ArrayList<>();
+            for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                List<Run> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                merged.add(group.size() == 1 ? group.get(0) : mergeToRun(group));
+            }
+            runs.clear();
+            runs.addAll(merged);
+        }
+        merge(runs, output);
+        deleteRuns(runs);
+        runs.clear();
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    // Delete any run files that are still on disk
+    @Override
+    public void close() throws IOException {
+        deleteRuns(runs);
+        buffer.clear();
+    }
+
+    private void spill() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        buffer.sort(comparator);
+        runs.add(writeRun(buffer));
+        buffer.clear();
+        bufferedBytes = 0;
+    }
+
+    private Run writeRun(List<Student> students) throws IOException {
+        Path file = Files.createTempFile(tempDir, "students-run", ".bin");
+        StudentRecordCodec codec = new StudentRecordCodec();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_SIZE))) {
+            for (Student student : students) {
+                codec.write(out, student);
+            }
+        }
+        return new Run(file, students.size());
+    }
+
+    private Run mergeToRun(List<Run> group) throws IOException {
+        Path file = Files.createTempFile(tempDir, "students-run", ".bin");
+        StudentRecordCodec codec = new StudentRecordCodec();
+        int[] count = new int[1];
+        IOException[] failure = new IOException[1];
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_SIZE))) {
+            merge(group, student -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    codec.write(out, student);
+                    count[0]++;
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+        }
+        if (failure[0] != null) {
+            Files.deleteIfExists(file);
+            throw failure[0];
+        }
+        deleteRuns(group);
+        return new Run(file, count[0]);
+    }
+
+    // k-way merge: the heap holds one reader per run, ordered by its head
+    private void merge(List<Run> group, Consumer<Student> output) throws IOException {
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(Math.max(1, group.size()), (a, b) -> {
+            int comparison = comparator.compare(a.head, b.head);
+            return comparison != 0 ? comparison : Integer.compare(a.order, b.order);
+        });
+        List<RunReader> readers = new ArrayList<>(group.size());
+
+        try {
+            for (int i = 0; i < group.size(); i++) {
+                RunReader reader = new RunReader(group.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                output.accept(reader.head);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void deleteRuns(List<Run> group) throws IOException {
+        for (Run run : group) {
+            Files.deleteIfExists(run.file);
+        }
+    }
+
+    // Rough heap footprint of a student and its results, in bytes
+    private static long estimateSize(Student student) {
+        long size = 160 + 2L * (length(student.getStudentId()) + length(student.getName())
+            + length(student.getEmail()) + length(student.getPhone()) + length(student.getDepartment()));
+        for (Result result : student.getResults()) {
+            size += 64 + 2L * length(result.getGrade());
+        }
+        return size;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,274 @@
+package algorithms;
+
+import models.Course;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Topological order of the prerequisite graph maintained online with the
+// Pearce-Kelly algorithm: every course has a position, and each prerequisite
+// sits at a lower position than the courses that require it. A new link that
+// already agrees with the order costs O(1). Otherwise only the courses whose
+// positions lie between the two endpoints are searched and reordered, and a
+// link that would close a cycle is rejected with the cycle as evidence.
+//
+// Removing links never breaks the order, so deleted courses just drop their
+// edges. A catalogue that already contains a cycle has no topological order;
+// isAcyclic() is then false and callers must check links another way.
+public class OnlineTopologicalOrder {
+    private final Map<String, Integer> ids;
+    private final List<String> codes;
+    private int[] position;
+    private int[][] dependents;
+    private int[] dependentCount;
+    private int[][] prerequisites;
+    private int[] prerequisiteCount;
+    private boolean acyclic;
+
+    // Search state reused between insertions; visited is a stamp per node
+    private int[] visited;
+    private int[] parent;
+    private int[] stack;
+    private int round;
+
+    public OnlineTopologicalOrder(Map<String, Course> courses) {
+        this.ids = new HashMap<>();
+        this.codes = new ArrayList<>();
+        this.position = new int[16];
+        this.dependents = new int[16][];
+        this.dependentCount = new int[16];
+        this.prerequisites = new int[16][];
+        this.prerequisiteCount = new int[16];
+        this.visited = new int[16];
+        this.parent = new int[16];
+        this.stack = new int[16];
+        build(CompiledPrerequisiteGraph.compile(courses));
+    }
+
+    public boolean isAcyclic() {
+        return acyclic;
+    }
+
+    // Record that course requires prerequisite. Returns an empty list if the
+    // link was added, or the cycle it would close - course first and last,
+    // each entry requiring the next - in which case nothing changes.
+    // O(1) when the link agrees with the order, otherwise proportional to
+    // the edges of the affected region.
+    public List<String> addPrerequisite(String course, String prerequisite) {
+        if (!acyclic) {
+            throw new IllegalStateException("Prerequisite graph already has a cycle");
+        }
+        int from = intern(prerequisite);
+        int to = intern(course);
+        if (from == to) {
+            return Arrays.asList(course, course);
+        }
+
+        int lower = position[to];
+        int upper = position[from];
+        if (lower < upper) {
+            // Forward: everything that (transitively) requires the course and
+            // sits no higher than the prerequisite
+            int mark = ++round;
+            List<Integer> forward = new ArrayList<>();
+            if (search(to, upper, mark, forward, true, from)) {
+                return cycle(course, from, to);
+            }
+            // Backward: everything the prerequisite (transitively) needs that
+            // sits no lower than the course
+            List<Integer> backward = new ArrayList<>();
+            search(from, lower, ++round, backward, false, -1);
+            reorder(backward, forward);
+        }
+
+        dependents[from] = append(dependents[from], dependentCount[from]++, to);
+        prerequisites[to] = append(prerequisites[to], prerequisiteCount[to]++, from);
+        return Collections.emptyList();
+    }
+
+    // Drop a course's own prerequisite links; the order stays valid
+    public void removeCourse(String code) {
+        Integer id = ids.get(code);
+        if (id == null) {
+            return;
+        }
+        for (int i = 0; i < prerequisiteCount[id]; i++) {
+            int prerequisite = prerequisites[id][i];
+            int[] list = dependents[prerequisite];
+            for (int j = 0; j < dependentCount[prerequisite]; j++) {
+                if (list[j] == id) {
+                    list[j] = list[--dependentCount[prerequisite]];
+                    break;
+                }
+            }
+        }
+        prerequisiteCount[id] = 0;
+    }
+
+    // Position of a course in the order, or -1 if unknown
+    public int positionOf(String code) {
+        Integer id = ids.get(code);
+        return id == null ? -1 : position[id];
+    }
+
+    // Every known course code, prerequisites before the courses needing them
+    public List<String> order() {
+        String[] ordered = new String[codes.size()];
+        for (int id = 0; id < codes.size(); id++) {
+            ordered[position[id]] = codes.get(id);
+        }
+        return new ArrayList<>(Arrays.asList(ordered));
+    }
+
+    // Initial order from Kahn's algorithm on the compiled graph - O(V + E)
+    private void build(CompiledPrerequisiteGraph graph) {
+        int n = graph.size();
+        for (int id = 0; id < n; id++) {
+            intern(graph.codeOf(id));
+        }
+
+        int[] pending = new int[n];
+        for (int course = 0; course < n; course++) {
+            for (int e = graph.firstEdge(course); e < graph.endEdge(course); e++) {
+                int prerequisite = graph.target(e);
+                dependents[prerequisite] = append(dependents[prerequisite], dependentCount[prerequisite]++, course);
+                prerequisites[course] = append(prerequisites[course], prerequisiteCount[course]++, prerequisite);
+                pending[course]++;
+            }
+        }
+
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int id = 0; id < n; id++) {
+            if (pending[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+        while (head < tail) {
+            int id = queue[head];
+            position[id] = head++;
+            for (int i = 0; i < dependentCount[id]; i++) {
+                int dependent = dependents[id][i];
+                if (--pending[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+
+        acyclic = tail == n;
+        if (!acyclic) {
+            // Courses on or behind a cycle still need distinct positions
+            for (int id = 0; id < n; id++) {
+                if (pending[id] > 0) {
+                    position[id] = tail++;
+                }
+            }
+        }
+    }
+
+    // Iterative DFS from start that stays within the bound; collects the
+    // nodes reached. Forward searches follow dependents up to the bound and
+    // report whether target was reached; backward searches follow
+    // prerequisites down to it.
+    private boolean search(int start, int bound, int mark, List<Integer> reached, boolean forward, int target) {
+        int top = 0;
+        visited[start] = mark;
+        parent[start] = -1;
+        stack[top++] = start;
+        while (top > 0) {
+            int node = stack[--top];
+            reached.add(node);
+            int[] edges = forward ? dependents[node] : prerequisites[node];
+            int count = forward ? dependentCount[node] : prerequisiteCount[node];
+            for (int i = 0; i < count; i++) {
+                int next = edges[i];
+                if (next == target) {
+                    parent[next] = node;
+                    return true;
+                }
+                boolean inRegion = forward ? position[next] < bound : position[next] > bound;
+                if (visited[next] != mark && inRegion) {
+                    visited[next] = mark;
+                    parent[next] = node;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Backward nodes take the lowest of the freed positions, in their
+    // current relative order, and the forward nodes the rest
+    private void reorder(List<Integer> backward, List<Integer> forward) {
+        Collections.sort(backward, (a, b) -> Integer.compare(position[a], position[b]));
+        Collections.sort(forward, (a, b) -> Integer.compare(position[a], position[b]));
+
+        int[] slots = new int[backward.size() + forward.size()];
+        int count = 0;
+        for (int node : backward) {
+            slots[count++] = position[node];
+        }
+        for (int node : forward) {
+            slots[count++] = position[node];
+        }
+        Arrays.sort(slots);
+
+        count = 0;
+        for (int node : backward) {
+            position[node] = slots[count++];
+        }
+        for (int node : forward) {
+            position[node] = slots[count++];
+        }
+    }
+
+    // Walk the forward search back from the prerequisite to the course:
+    // each step is a course requiring the previous one
+    private List<String> cycle(String course, int prerequisite, int start) {
+        List<String> cycle = new ArrayList<>();
+        cycle.add(course);
+        for (int node = prerequisite; node != -1; node = parent[node]) {
+            cycle.add(codes.get(node));
+            if (node == start) {
+                break;
+            }
+        }
+        return cycle;
+    }
+
+    private int intern(String code) {
+        Integer id = ids.get(code);
+        if (id != null) {
+            return id;
+        }
+        id = codes.size();
+        if (id == position.length) {
+            int capacity = id * 2;
+            position = Arrays.copyOf(position, capacity);
+            dependents = Arrays.copyOf(dependents, capacity);
+            dependentCount = Arrays.copyOf(dependentCount, capacity);
+            prerequisites = Arrays.copyOf(prerequisites, capacity);
+            prerequisiteCount = Arrays.copyOf(prerequisiteCount, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            stack = Arrays.copyOf(stack, capacity);
+        }
+        codes.add(code);
+        ids.put(code, id);
+        position[id] = id;
+        dependents[id] = new int[2];
+        prerequisites[id] = new int[2];
+        return id;
+    }
+
+    private static int[] append(int[] list, int index, int value) {
+        if (index == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+        }
+        list[index] = value;
+        return list;
+    }
+}
@@ -0,0 +1,227 @@
+package algorithms;
+
+import models.Student;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+// Stable fork-join merge sort over primitive keys. Sort keys are extracted
+// once into a double[] with a parallel int[] of original positions; the two
+// arrays are sorted together, ping-ponging between them and one scratch pair,
+// and the resulting permutation is applied at the end. Large merges are split
+// by binary search so they also run in parallel. Total allocation is O(n).
+public class ParallelMergeSort {
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int SORT_THRESHOLD = 1 << 13;
+    private static final int MERGE_THRESHOLD = 1 << 14;
+
+    // Sort students by GPA, ties kept in input order - O(n log n) work,
+    // spread over the common fork-join pool for large inputs
+    public static List<Student> sortByGPA(Iterable<Student> students, boolean ascending) {
+        return sortListByGPA(SortingAlgorithms.copyOf(students), ascending);
+    }
+
+    // Sorts the given list itself and returns it
+    static List<Student> sortListByGPA(List<Student> sortedList, boolean ascending) {
+        int n = sortedList.size();
+        if (n <= 1) {
+            return sortedList;
+        }
+
+        Student[] items = sortedList.toArray(new Student[n]);
+        double[] keys = new double[n];
+        Arrays.parallelSetAll(keys, i -> ascending ? items[i].calculateGPA() : -items[i].calculateGPA());
+
+        int[] order = sortedOrder(keys);
+        for (int i = 0; i < n; i++) {
+            sortedList.set(i, items[order[i]]);
+        }
+        return sortedList;
+    }
+
+    // Stable ascending sort of the keys in place; returns the original
+    // position of each sorted key
+    public static int[] sortedOrder(double[] keys) {
+        int n = keys.length;
+        int[] index = new int[n];
+        Arrays.setAll(index, i -> i);
+        if (n > 1) {
+            Buffers buffers = new Buffers(keys, index);
+            new SortTask(buffers, 0, n, false).invoke();
+        }
+        return index;
+    }
+
+    // The working arrays and their scratch twins, shared by all tasks
+    private static final class Buffers {
+        final double[] keys;
+        final int[] index;
+        final double[] scratchKeys;
+        final int[] scratchIndex;
+
+        Buffers(double[] keys, int[] index) {
+            this.keys = keys;
+            this.index = index;
+            this.scratchKeys = new double[keys.length];
+            this.scratchIndex = new int[keys.length];
+        }
+
+        double[] keys(boolean scratch) {
+            return scratch ? scratchKeys : keys;
+        }
+
+        int[] index(boolean scratch) {
+            return scratch ? scratchIndex : index;
+        }
+    }
+
+    // Sorts [lo, hi) of the primary arrays, leaving the result in the
+    // scratch arrays when intoScratch is set
+    @SuppressWarnings("serial") // never serialized; only run in the fork-join pool
+    private static final class SortTask extends RecursiveAction {
+        private final Buffers buffers;
+        private final int lo, hi;
+        private final boolean intoScratch;
+
+        SortTask(Buffers buffers, int lo, int hi, boolean intoScratch) {
+            this.buffers = buffers;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoScratch = intoScratch;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= SORT_THRESHOLD) {
+                sortSequential(buffers, lo, hi, intoScratch);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(buffers, lo, mid, !intoScratch),
+                      new SortTask(buffers, mid, hi, !intoScratch));
+            new MergeTask(buffers, !intoScratch, lo, mid, mid, hi, lo).invoke();
+        }
+    }
+
+    // Merges two sorted runs of one buffer into the other buffer at out
+    @SuppressWarnings("serial")
+    private static final class MergeTask extends RecursiveAction {
+        private final Buffers buffers;
+        private final boolean fromScratch;
+        private final int lo1, hi1, lo2, hi2, out;
+
+        MergeTask(Buffers buffers, boolean fromScratch, int lo1, int hi1, int lo2, int hi2, int out) {
+            this.buffers = buffers;
+            this.fromScratch = fromScratch;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = hi1 - lo1;
+            int length2 = hi2 - lo2;
+            if (length1 + length2 <= MERGE_THRESHOLD) {
+                merge(buffers, fromScratch, lo1, hi1, lo2, hi2, out);
+                return;
+            }
+
+            double[] keys = buffers.keys(fromScratch);
+            int split1, split2;
+            // Split the longer run at its middle and the other at the matching
+            // bound, so equal keys from the left run stay in front
+            if (length1 >= length2) {
+                split1 = (lo1 + hi1) >>> 1;
+                split2 = lowerBound(keys, lo2, hi2, keys[split1]);
+            } else {
+                split2 = (lo2 + hi2) >>> 1;
+                split1 = upperBound(keys, lo1, hi1, keys[split2]);
+            }
+            int splitOut = out + (split1 - lo1) + (split2 - lo2);
+            invokeAll(new MergeTask(buffers, fromScratch, lo1, split1, lo2, split2, out),
+                      new MergeTask(buffers, fromScratch, split1, hi1, split2, hi2, splitOut));
+        }
+    }
+
+    private static void sortSequential(Buffers buffers, int lo, int hi, boolean intoScratch) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            insertionSort(buffers.keys, buffers.index, lo, hi);
+            if (intoScratch) {
+                System.arraycopy(buffers.keys, lo, buffers.scratchKeys, lo, hi - lo);
+                System.arraycopy(buffers.index, lo, buffers.scratchIndex, lo, hi - lo);
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        sortSequential(buffers, lo, mid, !intoScratch);
+        sortSequential(buffers, mid, hi, !intoScratch);
+        merge(buffers, !intoScratch, lo, mid, mid, hi, lo);
+    }
+
+    private static void merge(Buffers buffers, boolean fromScratch, int lo1, int hi1, int lo2, int hi2, int out) {
+        double[] keys = buffers.keys(fromScratch);
+        int[] index = buffers.index(fromScratch);
+        double[] outKeys = buffers.keys(!fromScratch);
+        int[] outIndex = buffers.index(!fromScratch);
+        int i = lo1, j = lo2, k = out;
+
+        while (i < hi1 && j < hi2) {
+            if (keys[j] < keys[i]) {
+                outKeys[k] = keys[j];
+                outIndex[k++] = index[j++];
+            } else {
+                outKeys[k] = keys[i];
+                outIndex[k++] = index[i++];
+            }
+        }
+        System.arraycopy(keys, i, outKeys, k, hi1 - i);
+        System.arraycopy(index, i, outIndex, k, hi1 - i);
+        k += hi1 - i;
+        System.arraycopy(keys, j, outKeys, k, hi2 - j);
+        System.arraycopy(index, j, outIndex, k, hi2 - j);
+    }
+
+    private static void insertionSort(double[] keys, int[] index, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double key = keys[i];
+            int position = index[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                index[j + 1] = index[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            index[j + 1] = position;
+        }
+    }
+
+    // First position in [lo, hi) whose key is not less than the given key
+    private static int lowerBound(double[] keys, int lo, int hi, double key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First position in [lo, hi) whose key is greater than the given key
+    private static int upperBound(double[] keys, int lo, int hi, double key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
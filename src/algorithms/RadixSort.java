@@ -0,0 +1,159 @@
+package algorithms;
+
+import models.Student;
+import utils.StudentIdKeys;
+import java.util.List;
+
+// LSD radix sort on 64-bit keys for sort orders that can be encoded as
+// integers. The histograms for all eight byte positions are built in one
+// pass; positions where every key has the same byte are skipped, and the
+// remaining passes scatter keys and original positions between two array
+// pairs. Stable and O(n) per pass, with no comparisons.
+//
+// Key encodings:
+//   GPA - IEEE-754 bits, flipped so unsigned order matches numeric order
+//         (and complemented for descending order).
+//   ID  - StudentIdKeys: the compact key when every ID uses only digits and
+//         upper-case letters, otherwise the ASCII key. Runs of IDs sharing a
+//         truncated prefix are finished by comparison.
+public class RadixSort {
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    // Stable ascending sort of the keys (as unsigned values) in place;
+    // returns the original position of each sorted key
+    public static int[] sortedOrder(long[] keys) {
+        int n = keys.length;
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+        }
+        if (n <= 1) {
+            return index;
+        }
+
+        int[][] counts = new int[PASSES][BUCKETS];
+        for (long key : keys) {
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        long[] sourceKeys = keys, targetKeys = new long[n];
+        int[] sourceIndex = index, targetIndex = new int[n];
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] count = counts[pass];
+            if (count[digit(sourceKeys[0], pass)] == n) {
+                continue;
+            }
+
+            int offset = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                int size = count[bucket];
+                count[bucket] = offset;
+                offset += size;
+            }
+            for (int i = 0; i < n; i++) {
+                int position = count[digit(sourceKeys[i], pass)]++;
+                targetKeys[position] = sourceKeys[i];
+                targetIndex[position] = sourceIndex[i];
+            }
+
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapIndex = sourceIndex;
+            sourceIndex = targetIndex;
+            targetIndex = swapIndex;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, n);
+            System.arraycopy(sourceIndex, 0, index, 0, n);
+        }
+        return index;
+    }
+
+    // Sort students by GPA, ties kept in input order - O(n)
+    public static List<Student> sortByGPA(Iterable<Student> students, boolean ascending) {
+        return sortListByGPA(SortingAlgorithms.copyOf(students), ascending);
+    }
+
+    // Sorts the given list itself and returns it
+    static List<Student> sortListByGPA(List<Student> sortedList, boolean ascending) {
+        int n = sortedList.size();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = gpaKey(sortedList.get(i).calculateGPA(), ascending);
+        }
+        return permute(sortedList, sortedOrder(keys));
+    }
+
+    // Sort students by ID. Falls back to a comparison sort when an ID does
+    // not start with printable ASCII - O(n) for IDs that fit in one key
+    public static List<Student> sortByStudentId(Iterable<Student> students) {
+        return sortListByStudentId(SortingAlgorithms.copyOf(students));
+    }
+
+    static List<Student> sortListByStudentId(List<Student> sortedList) {
+        int n = sortedList.size();
+        long[] keys = new long[n];
+        boolean compact = true;
+        int keyChars = StudentIdKeys.COMPACT_CHARS;
+        boolean truncated = false;
+
+        for (int i = 0; i < n; i++) {
+            String studentId = sortedList.get(i).getStudentId();
+            keys[i] = compact ? StudentIdKeys.compactKey(studentId) : StudentIdKeys.asciiKey(studentId);
+            if (keys[i] < 0 && compact) {
+                // Not digits and upper case only: restart with the ASCII key
+                compact = false;
+                keyChars = StudentIdKeys.ASCII_CHARS;
+                truncated = false;
+                i = -1;
+                continue;
+            }
+            if (keys[i] < 0) {
+                sortedList.sort((s1, s2) -> s1.getStudentId().compareTo(s2.getStudentId()));
+                return sortedList;
+            }
+            truncated |= studentId.length() > keyChars;
+        }
+
+        List<Student> result = permute(sortedList, sortedOrder(keys));
+        if (truncated) {
+            // Equal keys mean equal prefixes; order each such run fully
+            for (int start = 0, end; start < n; start = end) {
+                end = start + 1;
+                while (end < n && keys[end] == keys[start]) {
+                    end++;
+                }
+                if (end - start > 1) {
+                    result.subList(start, end).sort((s1, s2) -> s1.getStudentId().compareTo(s2.getStudentId()));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Unsigned sort key for a GPA: flip the sign bit of non-negative values
+    // and every bit of negative ones, so unsigned order is numeric order
+    public static long gpaKey(double gpa, boolean ascending) {
+        long bits = Double.doubleToLongBits(gpa);
+        long key = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        return ascending ? key : ~key;
+    }
+
+    private static int digit(long key, int pass) {
+        return (int) (key >>> (pass * RADIX_BITS)) & (BUCKETS - 1);
+    }
+
+    private static List<Student> permute(List<Student> list, int[] order) {
+        Student[] items = list.toArray(new Student[list.size()]);
+        for (int i = 0; i < order.length; i++) {
+            list.set(i, items[order[i]]);
+        }
+        return list;
+    }
+}
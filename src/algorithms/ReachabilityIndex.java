@@ -0,0 +1,234 @@
+package algorithms;
+
+import models.Course;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Transitive closure of the prerequisite graph as one bitset row per course:
+// bit p of row c is set when p is a direct or indirect prerequisite of c, so
+// "is A required before B" is a single bit test.
+//
+// The rows are built with an iterative Tarjan pass. Strongly connected
+// components complete prerequisites-first, so each row is the union of rows
+// that are already final. Course ids follow that completion order, which
+// keeps the rows of introductory courses short; rows are trimmed to their
+// highest set word. Adding a prerequisite updates the affected rows in
+// place; anything that removes edges needs a rebuild.
+public class ReachabilityIndex {
+    private final Map<String, Integer> ids;
+    private final List<String> codes;
+    private long[][] rows;
+
+    // Build the closure for a catalogue - O(V + E) graph work plus
+    // O(V * V / 64) word operations in the worst case
+    public ReachabilityIndex(Map<String, Course> courses) {
+        this.ids = new HashMap<>();
+        this.codes = new ArrayList<>();
+        this.rows = new long[0][];
+        build(CompiledPrerequisiteGraph.compile(courses));
+    }
+
+    // True if prerequisite must be completed (directly or through a chain)
+    // before course - O(1)
+    public boolean isPrerequisite(String course, String prerequisite) {
+        Integer from = ids.get(course);
+        Integer to = ids.get(prerequisite);
+        return from != null && to != null && test(rows[from], to);
+    }
+
+    // Record a new direct prerequisite. Every course that is, or depends on,
+    // the course gains the prerequisite and everything it requires -
+    // O(V * V / 64) word operations worst case, nothing if already implied.
+    public void addPrerequisite(String course, String prerequisite) {
+        int from = intern(course);
+        int to = intern(prerequisite);
+        if (test(rows[from], to)) {
+            return;
+        }
+
+        long[] gained = Arrays.copyOf(rows[to], Math.max(rows[to].length, (to >>> 6) + 1));
+        gained[to >>> 6] |= 1L << to;
+
+        for (int node = 0; node < codes.size(); node++) {
+            if (node == from || test(rows[node], from)) {
+                rows[node] = or(rows[node], gained);
+            }
+        }
+    }
+
+    // All direct and indirect prerequisites of a course, in id order
+    public List<String> prerequisitesOf(String course) {
+        List<String> prerequisites = new ArrayList<>();
+        Integer id = ids.get(course);
+        if (id == null) {
+            return prerequisites;
+        }
+        long[] row = rows[id];
+        for (int word = 0; word < row.length; word++) {
+            for (long bits = row[word]; bits != 0; bits &= bits - 1) {
+                prerequisites.add(codes.get((word << 6) + Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        return prerequisites;
+    }
+
+    // Number of interned course codes
+    public int size() {
+        return codes.size();
+    }
+
+    // Heap used by the rows, in bytes (approximate)
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (int node = 0; node < codes.size(); node++) {
+            bytes += 16 + 8L * rows[node].length;
+        }
+        return bytes;
+    }
+
+    private void build(CompiledPrerequisiteGraph graph) {
+        int n = graph.size();
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] componentStack = new int[n];
+        int[] callStack = new int[n];
+        int[] edge = new int[n];
+        int[] newId = new int[n];
+        long[][] graphRows = new long[n][];
+        Arrays.fill(index, -1);
+        int counter = 0, componentTop = 0, assigned = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            index[root] = lowLink[root] = counter++;
+            componentStack[componentTop++] = root;
+            onStack[root] = true;
+            callStack[depth] = root;
+            edge[depth++] = graph.firstEdge(root);
+
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                if (edge[depth - 1] < graph.endEdge(node)) {
+                    int next = graph.target(edge[depth - 1]++);
+                    if (index[next] < 0) {
+                        index[next] = lowLink[next] = counter++;
+                        componentStack[componentTop++] = next;
+                        onStack[next] = true;
+                        callStack[depth] = next;
+                        edge[depth++] = graph.firstEdge(next);
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], index[next]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] != index[node]) {
+                    continue;
+                }
+
+                // node roots a component; all of its prerequisites outside the
+                // component are already final
+                int bottom = componentTop;
+                do {
+                    bottom--;
+                } while (componentStack[bottom] != node);
+                for (int i = bottom; i < componentTop; i++) {
+                    int member = componentStack[i];
+                    onStack[member] = false;
+                    newId[member] = assigned++;
+                }
+
+                long[] row = new long[0];
+                boolean cyclic = componentTop - bottom > 1;
+                for (int i = bottom; i < componentTop; i++) {
+                    int member = componentStack[i];
+                    for (int e = graph.firstEdge(member); e < graph.endEdge(member); e++) {
+                        int next = graph.target(e);
+                        int nextId = newId[next];
+                        if (next == member) {
+                            cyclic = true;
+                        }
+                        if (graphRows[next] != null) {
+                            row = or(row, graphRows[next]);
+                        }
+                        row = set(row, nextId);
+                    }
+                }
+                if (cyclic) {
+                    for (int i = bottom; i < componentTop; i++) {
+                        row = set(row, newId[componentStack[i]]);
+                    }
+                }
+                for (int i = bottom; i < componentTop; i++) {
+                    graphRows[componentStack[i]] = row;
+                }
+                componentTop = bottom;
+            }
+        }
+
+        String[] ordered = new String[n];
+        rows = new long[n][];
+        for (int node = 0; node < n; node++) {
+            ordered[newId[node]] = graph.codeOf(node);
+            // Each course gets its own copy, so later in-place updates stay local
+            rows[newId[node]] = graphRows[node].clone();
+        }
+        codes.clear();
+        ids.clear();
+        for (int id = 0; id < n; id++) {
+            codes.add(ordered[id]);
+            ids.put(ordered[id], id);
+        }
+    }
+
+    private int intern(String code) {
+        Integer id = ids.get(code);
+        if (id != null) {
+            return id;
+        }
+        id = codes.size();
+        codes.add(code);
+        ids.put(code, id);
+        if (id == rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(16, rows.length * 2));
+        }
+        rows[id] = new long[0];
+        return id;
+    }
+
+    private static boolean test(long[] row, int bit) {
+        int word = bit >>> 6;
+        return word < row.length && (row[word] & (1L << bit)) != 0;
+    }
+
+    private static long[] set(long[] row, int bit) {
+        int word = bit >>> 6;
+        if (word >= row.length) {
+            row = Arrays.copyOf(row, word + 1);
+        }
+        row[word] |= 1L << bit;
+        return row;
+    }
+
+    private static long[] or(long[] row, long[] other) {
+        if (other.length > row.length) {
+            row = Arrays.copyOf(row, other.length);
+        }
+        for (int word = 0; word < other.length; word++) {
+            row[word] |= other[word];
+        }
+        return row;
+    }
+}
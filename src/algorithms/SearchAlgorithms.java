@@ -30,12 +30,12 @@ public class SearchAlgorithms {
     }
     
     // Linear Search by name - O(n)
-    public static List<Student> searchByName(List<Student> students, String name) {
+    // Accepts any Iterable so tree cursors can be scanned without copying
+    public static List<Student> searchByName(Iterable<Student> students, String name) {
         List<Student> results = new ArrayList<>();
-        String searchTerm = name.toLowerCase();
         
         for (Student student : students) {
-            if (student.getName().toLowerCase().contains(searchTerm)) {
+            if (containsIgnoreCase(student.getName(), name)) {
                 results.add(student);
             }
         }
@@ -43,8 +43,19 @@ public class SearchAlgorithms {
         return results;
     }
     
+    // Case-insensitive substring test without lower-casing copies of either string
+    public static boolean containsIgnoreCase(String text, String term) {
+        int last = text.length() - term.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     // Search by department - O(n)
-    public static List<Student> searchByDepartment(List<Student> students, String department) {
+    public static List<Student> searchByDepartment(Iterable<Student> students, String department) {
         List<Student> results = new ArrayList<>();
         
         for (Student student : students) {
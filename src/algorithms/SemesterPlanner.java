@@ -0,0 +1,242 @@
+package algorithms;
+
+import models.Course;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Layers the courses a student still needs into semesters with Kahn's
+// algorithm. A course becomes available the semester after its last missing
+// prerequisite is scheduled, and each semester takes available courses
+// until the credit cap is reached. When more courses are available than
+// fit, those heading the longest chain of courses still to come go first
+// (critical-path priority). Without a cap this gives the minimum number of
+// semesters, the length of the longest chain; with one, minimising is
+// NP-hard, and critical-path-first is the standard list-scheduling answer.
+//
+// The planner is immutable after construction and can be shared by threads.
+public class SemesterPlanner {
+
+    // Courses per semester, plus anything that can never be scheduled
+    public static final class Plan {
+        private final List<List<String>> semesters;
+        private final List<String> unplannable;
+
+        private Plan(List<List<String>> semesters, List<String> unplannable) {
+            this.semesters = semesters;
+            this.unplannable = unplannable;
+        }
+
+        public List<List<String>> getSemesters() {
+            return semesters;
+        }
+
+        public int getSemesterCount() {
+            return semesters.size();
+        }
+
+        // Courses behind a prerequisite cycle or an unknown prerequisite
+        public List<String> getUnplannable() {
+            return unplannable;
+        }
+    }
+
+    private final CompiledPrerequisiteGraph graph;
+    private final int[] credits;
+    private final boolean[] offered;
+    // Reverse CSR: the courses that list each code as a prerequisite
+    private final int[] dependentOffsets;
+    private final int[] dependents;
+
+    public SemesterPlanner(CompiledPrerequisiteGraph graph, Map<String, Course> courses) {
+        this.graph = graph;
+        int n = graph.size();
+        this.credits = new int[n];
+        this.offered = new boolean[n];
+        for (int id = 0; id < n; id++) {
+            Course course = courses.get(graph.codeOf(id));
+            if (course != null) {
+                offered[id] = true;
+                credits[id] = course.getCredits();
+            }
+        }
+
+        this.dependentOffsets = new int[n + 1];
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            dependentOffsets[graph.target(edge) + 1]++;
+        }
+        for (int id = 0; id < n; id++) {
+            dependentOffsets[id + 1] += dependentOffsets[id];
+        }
+        this.dependents = new int[graph.edgeCount()];
+        int[] fill = new int[n];
+        for (int course = 0; course < n; course++) {
+            for (int edge = graph.firstEdge(course); edge < graph.endEdge(course); edge++) {
+                int prerequisite = graph.target(edge);
+                dependents[dependentOffsets[prerequisite] + fill[prerequisite]++] = course;
+            }
+        }
+    }
+
+    // Plan every offered course the student has not passed - O((V + E) log V)
+    public Plan plan(Collection<String> passedCourses, int creditCap) {
+        boolean[] needed = new boolean[graph.size()];
+        for (int id = 0; id < needed.length; id++) {
+            needed[id] = offered[id];
+        }
+        return plan(needed, passedCourses, creditCap);
+    }
+
+    // Plan the target courses and whatever they still require
+    public Plan planFor(Collection<String> targetCourses, Collection<String> passedCourses, int creditCap) {
+        boolean[] passed = passedMask(passedCourses);
+        boolean[] needed = new boolean[graph.size()];
+        int[] stack = new int[graph.size()];
+        int top = 0;
+        for (String code : targetCourses) {
+            int id = graph.idOf(code);
+            if (id >= 0 && !passed[id] && !needed[id]) {
+                needed[id] = true;
+                stack[top++] = id;
+            }
+        }
+        while (top > 0) {
+            int course = stack[--top];
+            for (int edge = graph.firstEdge(course); edge < graph.endEdge(course); edge++) {
+                int prerequisite = graph.target(edge);
+                if (!passed[prerequisite] && !needed[prerequisite]) {
+                    needed[prerequisite] = true;
+                    stack[top++] = prerequisite;
+                }
+            }
+        }
+        return plan(needed, passedCourses, creditCap);
+    }
+
+    private Plan plan(boolean[] needed, Collection<String> passedCourses, int creditCap) {
+        int n = graph.size();
+        boolean[] passed = passedMask(passedCourses);
+        int[] missing = new int[n];
+        int remaining = 0;
+        for (int id = 0; id < n; id++) {
+            needed[id] &= !passed[id];
+            if (!needed[id]) {
+                continue;
+            }
+            remaining++;
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                if (!passed[graph.target(edge)]) {
+                    missing[id]++;
+                }
+            }
+        }
+
+        int[] chain = chainLengths(needed);
+        PriorityQueue<Integer> available = new PriorityQueue<>((a, b) -> chain[a] != chain[b]
+            ? Integer.compare(chain[b], chain[a])
+            : graph.codeOf(a).compareTo(graph.codeOf(b)));
+        for (int id = 0; id < n; id++) {
+            if (needed[id] && offered[id] && missing[id] == 0) {
+                available.add(id);
+            }
+        }
+
+        List<List<String>> semesters = new ArrayList<>();
+        List<Integer> deferred = new ArrayList<>();
+        List<Integer> taken = new ArrayList<>();
+        while (!available.isEmpty()) {
+            List<String> semester = new ArrayList<>();
+            int load = 0;
+            while (!available.isEmpty()) {
+                int course = available.poll();
+                // An oversized course still gets a semester of its own
+                if (load + credits[course] <= creditCap || semester.isEmpty()) {
+                    semester.add(graph.codeOf(course));
+                    load += credits[course];
+                    taken.add(course);
+                } else {
+                    deferred.add(course);
+                }
+            }
+            semesters.add(semester);
+            remaining -= taken.size();
+
+            // Courses unlocked this semester become available next semester
+            available.addAll(deferred);
+            deferred.clear();
+            for (int course : taken) {
+                for (int i = dependentOffsets[course]; i < dependentOffsets[course + 1]; i++) {
+                    int dependent = dependents[i];
+                    if (needed[dependent] && --missing[dependent] == 0 && offered[dependent]) {
+                        available.add(dependent);
+                    }
+                }
+            }
+            taken.clear();
+        }
+
+        List<String> unplannable = new ArrayList<>(remaining);
+        if (remaining > 0) {
+            for (int id = 0; id < n; id++) {
+                if (needed[id] && offered[id] && missing[id] > 0) {
+                    unplannable.add(graph.codeOf(id));
+                }
+            }
+        }
+        return new Plan(semesters, unplannable);
+    }
+
+    // Longest chain of needed courses starting at each course (itself
+    // included), computed dependents-first over the needed subgraph
+    private int[] chainLengths(boolean[] needed) {
+        int n = graph.size();
+        int[] chain = new int[n];
+        int[] pendingDependents = new int[n];
+        for (int id = 0; id < n; id++) {
+            if (!needed[id]) {
+                continue;
+            }
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                int prerequisite = graph.target(edge);
+                if (needed[prerequisite]) {
+                    pendingDependents[prerequisite]++;
+                }
+            }
+        }
+
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int id = 0; id < n; id++) {
+            if (needed[id] && pendingDependents[id] == 0) {
+                queue[tail++] = id;
+            }
+        }
+        while (head < tail) {
+            int course = queue[head++];
+            chain[course]++;
+            for (int edge = graph.firstEdge(course); edge < graph.endEdge(course); edge++) {
+                int prerequisite = graph.target(edge);
+                if (needed[prerequisite]) {
+                    chain[prerequisite] = Math.max(chain[prerequisite], chain[course]);
+                    if (--pendingDependents[prerequisite] == 0) {
+                        queue[tail++] = prerequisite;
+                    }
+                }
+            }
+        }
+        return chain;
+    }
+
+    private boolean[] passedMask(Collection<String> passedCourses) {
+        boolean[] passed = new boolean[graph.size()];
+        for (String code : passedCourses) {
+            int id = graph.idOf(code);
+            if (id >= 0) {
+                passed[id] = true;
+            }
+        }
+        return passed;
+    }
+}
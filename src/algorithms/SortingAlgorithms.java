@@ -1,106 +1,444 @@
 package algorithms;
 
 import models.Student;
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
 
 public class SortingAlgorithms {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 18;
+    private static final int INITIAL_HEAP_CAPACITY = 16;
     
-    // Merge Sort by GPA - O(n log n)
-    public static List<Student> mergeSortByGPA(List<Student> students, boolean ascending) {
-        List<Student> sortedList = new ArrayList<>(students);
-        if (sortedList.size() <= 1) {
+    // Sort by GPA, picking the engine from the input: LSD radix sort on the
+    // GPA bits - O(n) - or, for very large inputs on a multi-core machine,
+    // the parallel merge sort. Both are stable.
+    public static List<Student> sortByGPA(Iterable<Student> students, boolean ascending) {
+        List<Student> sortedList = copyOf(students);
+        if (sortedList.size() >= PARALLEL_SORT_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1) {
+            return ParallelMergeSort.sortListByGPA(sortedList, ascending);
+        }
+        return RadixSort.sortListByGPA(sortedList, ascending);
+    }
+    
+    // Merge Sort by GPA - O(n log n), stable; keys are extracted once and
+    // large inputs are sorted in parallel by ParallelMergeSort
+    public static List<Student> mergeSortByGPA(Iterable<Student> students, boolean ascending) {
+        return ParallelMergeSort.sortByGPA(students, ascending);
+    }
+    
+    // Quick Sort by Name - O(n log n) worst case (introsort). Each name is
+    // turned into a CollationKey once, so comparisons are locale-aware and
+    // case-insensitive without re-normalizing the strings.
+    public static List<Student> quickSortByName(Iterable<Student> students) {
+        List<Student> sortedList = copyOf(students);
+        int n = sortedList.size();
+        if (n <= 1) {
             return sortedList;
         }
         
-        mergeSortByGPAHelper(sortedList, 0, sortedList.size() - 1, ascending);
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.SECONDARY);
+        Student[] items = sortedList.toArray(new Student[n]);
+        CollationKey[] keys = new CollationKey[n];
+        for (int i = 0; i < n; i++) {
+            String name = items[i].getName();
+            keys[i] = collator.getCollationKey(name != null ? name : "");
+        }
+        
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        introSortByName(keys, items, 0, n, depthLimit);
+        for (int i = 0; i < n; i++) {
+            sortedList.set(i, items[i]);
+        }
         return sortedList;
     }
     
-    private static void mergeSortByGPAHelper(List<Student> list, int left, int right, boolean ascending) {
-        if (left < right) {
-            int mid = left + (right - left) / 2;
+    // Sorts [low, high). Recurses only into the smaller side, so the stack
+    // stays O(log n); falls back to heap sort when partitions keep degrading
+    private static void introSortByName(CollationKey[] keys, Student[] items, int low, int high, int depthLimit) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortByName(keys, items, low, high);
+                return;
+            }
             
-            mergeSortByGPAHelper(list, left, mid, ascending);
-            mergeSortByGPAHelper(list, mid + 1, right, ascending);
-            mergeByGPA(list, left, mid, right, ascending);
+            // Median of three, then a 3-way partition so runs of equal
+            // names are finished in a single pass:
+            // [low, lt) < pivot, [lt, gt] == pivot, (gt, high) > pivot
+            int mid = (low + high) >>> 1;
+            CollationKey pivot = medianOf(keys[low], keys[mid], keys[high - 1]);
+            int lt = low, i = low, gt = high - 1;
+            while (i <= gt) {
+                int comparison = keys[i].compareTo(pivot);
+                if (comparison < 0) {
+                    swap(keys, items, lt++, i++);
+                } else if (comparison > 0) {
+                    swap(keys, items, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            
+            if (lt - low < high - gt - 1) {
+                introSortByName(keys, items, low, lt, depthLimit);
+                low = gt + 1;
+            } else {
+                introSortByName(keys, items, gt + 1, high, depthLimit);
+                high = lt;
+            }
+        }
+        insertionSortByName(keys, items, low, high);
+    }
+    
+    private static CollationKey medianOf(CollationKey a, CollationKey b, CollationKey c) {
+        if (a.compareTo(b) > 0) {
+            CollationKey temp = a;
+            a = b;
+            b = temp;
+        }
+        if (b.compareTo(c) > 0) {
+            b = c;
         }
+        return a.compareTo(b) > 0 ? a : b;
     }
     
-    private static void mergeByGPA(List<Student> list, int left, int mid, int right, boolean ascending) {
-        List<Student> leftList = new ArrayList<>(list.subList(left, mid + 1));
-        List<Student> rightList = new ArrayList<>(list.subList(mid + 1, right + 1));
+    private static void insertionSortByName(CollationKey[] keys, Student[] items, int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            CollationKey key = keys[i];
+            Student item = items[i];
+            int j = i - 1;
+            while (j >= low && keys[j].compareTo(key) > 0) {
+                keys[j + 1] = keys[j];
+                items[j + 1] = items[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            items[j + 1] = item;
+        }
+    }
+    
+    private static void heapSortByName(CollationKey[] keys, Student[] items, int low, int high) {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownByName(keys, items, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, items, low, low + end);
+            siftDownByName(keys, items, low, 0, end);
+        }
+    }
+    
+    private static void siftDownByName(CollationKey[] keys, Student[] items, int low, int node, int n) {
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= n) {
+                return;
+            }
+            if (child + 1 < n && keys[low + child + 1].compareTo(keys[low + child]) > 0) {
+                child++;
+            }
+            if (keys[low + node].compareTo(keys[low + child]) >= 0) {
+                return;
+            }
+            swap(keys, items, low + node, low + child);
+            node = child;
+        }
+    }
+    
+    private static void swap(CollationKey[] keys, Student[] items, int i, int j) {
+        CollationKey key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        Student item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+    
+    // Sort by Student ID - radix sort on packed ID prefixes, falling back to
+    // a comparison sort for IDs that cannot be encoded
+    public static List<Student> sortByStudentId(Iterable<Student> students) {
+        return RadixSort.sortListByStudentId(copyOf(students));
+    }
+    
+    // Top-K: the k first items under the ordering, in that order. Streams the
+    // input once through a bounded heap whose root is the worst item kept -
+    // O(n log k) time, O(k) space. Equal items keep their input order.
+    public static <T> List<T> topK(Iterable<T> items, int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
         
-        int i = 0, j = 0, k = left;
+        Comparator<Ranked<T>> ranking = (a, b) -> {
+            int comparison = order.compare(a.item, b.item);
+            return comparison != 0 ? comparison : Long.compare(a.sequence, b.sequence);
+        };
+        PriorityQueue<Ranked<T>> heap = new PriorityQueue<>(initialHeapCapacity(items, k), ranking.reversed());
+        long sequence = 0;
         
-        while (i < leftList.size() && j < rightList.size()) {
-            double leftGPA = leftList.get(i).calculateGPA();
-            double rightGPA = rightList.get(j).calculateGPA();
-            
-            boolean condition = ascending ? leftGPA <= rightGPA : leftGPA >= rightGPA;
-            
-            if (condition) {
-                list.set(k++, leftList.get(i++));
-            } else {
-                list.set(k++, rightList.get(j++));
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(new Ranked<>(item, sequence));
+            } else if (order.compare(item, heap.peek().item) < 0) {
+                heap.poll();
+                heap.add(new Ranked<>(item, sequence));
             }
+            sequence++;
         }
         
-        while (i < leftList.size()) {
-            list.set(k++, leftList.get(i++));
+        List<T> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().item);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+    
+    // Top-K on a primitive key: the k items with the highest (or lowest)
+    // key, best first. The key is computed once per item and the heap lives
+    // in plain arrays - O(n log k). Equal keys keep their input order.
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> topKByKey(Iterable<T> items, int k, ToDoubleFunction<? super T> key, boolean highest) {
+        if (k <= 0) {
+            return new ArrayList<>();
         }
         
-        while (j < rightList.size()) {
-            list.set(k++, rightList.get(j++));
+        double sign = highest ? -1 : 1;
+        KeyHeap heap = new KeyHeap(k, initialHeapCapacity(items, k));
+        int sequence = 0;
+        for (T item : items) {
+            heap.offer(sign * key.applyAsDouble(item), sequence++, item);
         }
+        
+        Object[] best = new Object[heap.size];
+        for (int i = best.length - 1; i >= 0; i--) {
+            best[i] = heap.items[0];
+            heap.pollWorst();
+        }
+        return new ArrayList<>((List<T>) Arrays.asList(best));
     }
     
-    // Quick Sort by Name - O(n log n) average
-    public static List<Student> quickSortByName(List<Student> students) {
-        List<Student> sortedList = new ArrayList<>(students);
-        if (sortedList.size() <= 1) {
-            return sortedList;
+    // Nth element: rearranges the list in place so position n holds the item
+    // a full sort would put there, with nothing greater before it and nothing
+    // smaller after it - O(n) average (introselect: median-of-three and a
+    // 3-way partition, falling back to sorting the range if pivots keep failing)
+    public static <T> void nthElement(List<T> list, int n, Comparator<? super T> order) {
+        if (n < 0 || n >= list.size()) {
+            throw new IndexOutOfBoundsException("n = " + n + ", size = " + list.size());
         }
         
-        quickSortByNameHelper(sortedList, 0, sortedList.size() - 1);
-        return sortedList;
+        int low = 0, high = list.size();
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(high));
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (budget-- == 0) {
+                break;
+            }
+            
+            int mid = (low + high) >>> 1;
+            T pivot = medianOf(list.get(low), list.get(mid), list.get(high - 1), order);
+            int lt = low, i = low, gt = high - 1;
+            while (i <= gt) {
+                int comparison = order.compare(list.get(i), pivot);
+                if (comparison < 0) {
+                    Collections.swap(list, lt++, i++);
+                } else if (comparison > 0) {
+                    Collections.swap(list, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            
+            if (n < lt) {
+                high = lt;
+            } else if (n > gt) {
+                low = gt + 1;
+            } else {
+                return;
+            }
+        }
+        list.subList(low, high).sort(order);
     }
     
-    private static void quickSortByNameHelper(List<Student> list, int low, int high) {
-        if (low < high) {
-            int pivotIndex = partitionByName(list, low, high);
+    // Nth smallest key, rearranging the array in place as nthElement does -
+    // O(n) average
+    public static double nthElement(double[] keys, int n) {
+        if (n < 0 || n >= keys.length) {
+            throw new IndexOutOfBoundsException("n = " + n + ", length = " + keys.length);
+        }
+        
+        int low = 0, high = keys.length;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(high));
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (budget-- == 0) {
+                break;
+            }
             
-            quickSortByNameHelper(list, low, pivotIndex - 1);
-            quickSortByNameHelper(list, pivotIndex + 1, high);
+            int mid = (low + high) >>> 1;
+            double pivot = Math.max(Math.min(keys[low], keys[mid]),
+                Math.min(Math.max(keys[low], keys[mid]), keys[high - 1]));
+            int lt = low, i = low, gt = high - 1;
+            while (i <= gt) {
+                double value = keys[i];
+                if (value < pivot) {
+                    keys[i++] = keys[lt];
+                    keys[lt++] = value;
+                } else if (value > pivot) {
+                    keys[i] = keys[gt];
+                    keys[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+            
+            if (n < lt) {
+                high = lt;
+            } else if (n > gt) {
+                low = gt + 1;
+            } else {
+                return keys[n];
+            }
+        }
+        Arrays.sort(keys, low, high);
+        return keys[n];
+    }
+    
+    // Heap slots to start with: never more than the input holds, so a huge k
+    // ("everything") costs no more than the input; the heaps grow up to k
+    private static int initialHeapCapacity(Iterable<?> items, int k) {
+        int known = items instanceof Collection ? ((Collection<?>) items).size() : INITIAL_HEAP_CAPACITY;
+        return Math.max(1, Math.min(k, known));
+    }
+    
+    private static <T> T medianOf(T a, T b, T c, Comparator<? super T> order) {
+        if (order.compare(a, b) > 0) {
+            T temp = a;
+            a = b;
+            b = temp;
+        }
+        if (order.compare(b, c) > 0) {
+            b = c;
+        }
+        return order.compare(a, b) > 0 ? a : b;
+    }
+    
+    // Item tagged with its input position, for tie-breaking
+    private static final class Ranked<T> {
+        final T item;
+        final long sequence;
+        
+        Ranked(T item, long sequence) {
+            this.item = item;
+            this.sequence = sequence;
         }
     }
     
-    private static int partitionByName(List<Student> list, int low, int high) {
-        Student pivot = list.get(high);
-        int i = low - 1;
+    // Bounded max-heap on (key, sequence) in parallel arrays; the root is the
+    // worst item kept, i.e. the largest key, latest on ties
+    private static final class KeyHeap {
+        final int limit;
+        double[] keys;
+        int[] sequences;
+        Object[] items;
+        int size;
+        
+        KeyHeap(int limit, int capacity) {
+            this.limit = limit;
+            keys = new double[capacity];
+            sequences = new int[capacity];
+            items = new Object[capacity];
+        }
+        
+        void offer(double key, int sequence, Object item) {
+            if (size < limit) {
+                if (size == keys.length) {
+                    grow();
+                }
+                set(size, key, sequence, item);
+                siftUp(size++);
+            } else if (key < keys[0]) {
+                set(0, key, sequence, item);
+                siftDown(0);
+            }
+        }
+        
+        private void grow() {
+            int capacity = (int) Math.min(limit, 2L * keys.length);
+            keys = Arrays.copyOf(keys, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            items = Arrays.copyOf(items, capacity);
+        }
+        
+        void pollWorst() {
+            size--;
+            set(0, keys[size], sequences[size], items[size]);
+            items[size] = null;
+            siftDown(0);
+        }
+        
+        private boolean worse(int i, int j) {
+            return keys[i] > keys[j] || (keys[i] == keys[j] && sequences[i] > sequences[j]);
+        }
         
-        for (int j = low; j < high; j++) {
-            if (list.get(j).getName().compareToIgnoreCase(pivot.getName()) < 0) {
-                i++;
-                // Swap
-                Student temp = list.get(i);
-                list.set(i, list.get(j));
-                list.set(j, temp);
+        private void siftUp(int node) {
+            while (node > 0) {
+                int parent = (node - 1) / 2;
+                if (!worse(node, parent)) {
+                    return;
+                }
+                swap(node, parent);
+                node = parent;
             }
         }
         
-        // Swap pivot
-        Student temp = list.get(i + 1);
-        list.set(i + 1, list.get(high));
-        list.set(high, temp);
+        private void siftDown(int node) {
+            while (true) {
+                int child = 2 * node + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && worse(child + 1, child)) {
+                    child++;
+                }
+                if (!worse(child, node)) {
+                    return;
+                }
+                swap(node, child);
+                node = child;
+            }
+        }
         
-        return i + 1;
+        private void set(int i, double key, int sequence, Object item) {
+            keys[i] = key;
+            sequences[i] = sequence;
+            items[i] = item;
+        }
+        
+        private void swap(int i, int j) {
+            double key = keys[i];
+            int sequence = sequences[i];
+            Object item = items[i];
+            set(i, keys[j], sequences[j], items[j]);
+            set(j, key, sequence, item);
+        }
     }
     
-    // Sort by Student ID
-    public static List<Student> sortByStudentId(List<Student> students) {
-        List<Student> sortedList = new ArrayList<>(students);
-        sortedList.sort((s1, s2) -> s1.getStudentId().compareTo(s2.getStudentId()));
-        return sortedList;
+    // Copy the input once into the list that will be sorted in place; shared
+    // by the sorts in this package
+    static List<Student> copyOf(Iterable<Student> students) {
+        if (students instanceof Collection) {
+            return new ArrayList<>((Collection<Student>) students);
+        }
+        List<Student> list = new ArrayList<>();
+        for (Student student : students) {
+            list.add(student);
+        }
+        return list;
     }
 }
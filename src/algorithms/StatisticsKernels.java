@@ -0,0 +1,204 @@
+package algorithms;
+
+// Aggregate kernels over primitive columns (GPAs, marks, dictionary-encoded
+// departments): sum, min/max, mean/variance and predicate counts. When the
+// jdk.incubator.vector module is in the boot layer (run with
+// --add-modules jdk.incubator.vector) the loops use SIMD lanes through
+// VectorStatisticsKernels; otherwise, or with -Dstatistics.scalar=true,
+// the plain loops below are used. Both give the same answers up to
+// floating-point summation order.
+//
+// Variance is the population variance, computed in two passes (mean first,
+// then squared deviations) so it stays accurate for large columns.
+public class StatisticsKernels {
+    private static final boolean VECTORIZED = detectVectorSupport();
+
+    // Count, sum, extremes, mean and variance of a column (or of the rows
+    // selected by a predicate). Min, max, mean and variance are NaN when
+    // count is 0.
+    public static final class Summary {
+        private final int count;
+        private final double sum;
+        private final double min;
+        private final double max;
+        private final double variance;
+
+        Summary(int count, double sum, double min, double max, double variance) {
+            this.count = count;
+            this.sum = sum;
+            this.min = count == 0 ? Double.NaN : min;
+            this.max = count == 0 ? Double.NaN : max;
+            this.variance = count == 0 ? Double.NaN : variance;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? Double.NaN : sum / count;
+        }
+
+        public double getVariance() {
+            return variance;
+        }
+
+        public double getStandardDeviation() {
+            return Math.sqrt(variance);
+        }
+    }
+
+    private static boolean detectVectorSupport() {
+        if (Boolean.getBoolean("statistics.scalar")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorStatisticsKernels.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    // True if the SIMD kernels are in use
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    // Sum of a column - O(n)
+    public static double sum(double[] values) {
+        if (VECTORIZED) {
+            return VectorStatisticsKernels.sum(values);
+        }
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    // Smallest value, or NaN for an empty column - O(n)
+    public static double min(double[] values) {
+        return summarize(values).getMin();
+    }
+
+    // Largest value, or NaN for an empty column - O(n)
+    public static double max(double[] values) {
+        return summarize(values).getMax();
+    }
+
+    // Mean, or NaN for an empty column - O(n)
+    public static double mean(double[] values) {
+        return values.length == 0 ? Double.NaN : sum(values) / values.length;
+    }
+
+    // Population variance, or NaN for an empty column - O(n)
+    public static double variance(double[] values) {
+        return summarize(values).getVariance();
+    }
+
+    // All aggregates of a column in two passes - O(n)
+    public static Summary summarize(double[] values) {
+        if (VECTORIZED) {
+            return VectorStatisticsKernels.summarize(values);
+        }
+        int n = values.length;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        double mean = sum / n;
+        double squares = 0;
+        for (double value : values) {
+            double deviation = value - mean;
+            squares += deviation * deviation;
+        }
+        return new Summary(n, sum, min, max, squares / n);
+    }
+
+    // Aggregates of the rows whose code equals the given one, e.g. the GPAs
+    // of one department given a column of department codes - O(n)
+    public static Summary summarizeWhere(double[] values, int[] codes, int code) {
+        checkLengths(values.length, codes.length);
+        if (VECTORIZED) {
+            return VectorStatisticsKernels.summarizeWhere(values, codes, code);
+        }
+        int n = values.length;
+        int count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            if (codes[i] == code) {
+                count++;
+                sum += values[i];
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+        }
+        double mean = sum / count;
+        double squares = 0;
+        for (int i = 0; i < n; i++) {
+            if (codes[i] == code) {
+                double deviation = values[i] - mean;
+                squares += deviation * deviation;
+            }
+        }
+        return new Summary(count, sum, min, max, squares / count);
+    }
+
+    // Number of rows carrying the given code - O(n)
+    public static int countEqual(int[] codes, int code) {
+        if (VECTORIZED) {
+            return VectorStatisticsKernels.countEqual(codes, code);
+        }
+        int count = 0;
+        for (int value : codes) {
+            if (value == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Number of values at or above a threshold, e.g. GPAs of 3.5 and up - O(n)
+    public static int countAtLeast(double[] values, double threshold) {
+        if (VECTORIZED) {
+            return VectorStatisticsKernels.countAtLeast(values, threshold);
+        }
+        int count = 0;
+        for (double value : values) {
+            if (value >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Number of values below a threshold, e.g. failing marks - O(n)
+    public static int countBelow(double[] values, double threshold) {
+        return values.length - countAtLeast(values, threshold);
+    }
+
+    private static void checkLengths(int values, int codes) {
+        if (values != codes) {
+            throw new IllegalArgumentException("Column lengths differ: " + values + " values, " + codes + " codes");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package algorithms;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD bodies of the StatisticsKernels loops, using the platform's preferred
+// vector width. Only StatisticsKernels touches this class, and only after
+// checking that jdk.incubator.vector is loaded, so nothing here is resolved
+// on a JVM started without the module. Each loop runs whole vectors and
+// finishes the remaining tail lanes with scalar code.
+final class VectorStatisticsKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    // Int lanes matching the double lanes one to one, for masked aggregates
+    private static final VectorSpecies<Integer> CODES = DOUBLES.length() >= 2
+        ? VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE))
+        : null;
+
+    private VectorStatisticsKernels() {
+    }
+
+    // One double per vector gains nothing over the scalar loops
+    static boolean isSupported() {
+        return CODES != null;
+    }
+
+    static double sum(double[] values) {
+        int i = 0;
+        int bound = DOUBLES.loopBound(values.length);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        for (; i < bound; i += DOUBLES.length()) {
+            sums = sums.add(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < values.length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    static StatisticsKernels.Summary summarize(double[] values) {
+        int n = values.length;
+        int bound = DOUBLES.loopBound(n);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector maxes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, values, i);
+            sums = sums.add(v);
+            mins = mins.min(v);
+            maxes = maxes.max(v);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < n; i++) {
+            sum += values[i];
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+
+        double mean = sum / n;
+        DoubleVector squares = DoubleVector.zero(DOUBLES);
+        for (i = 0; i < bound; i += DOUBLES.length()) {
+            DoubleVector deviation = DoubleVector.fromArray(DOUBLES, values, i).sub(mean);
+            squares = deviation.fma(deviation, squares);
+        }
+        double squareSum = squares.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            double deviation = values[i] - mean;
+            squareSum += deviation * deviation;
+        }
+        return new StatisticsKernels.Summary(n, sum, min, max, squareSum / n);
+    }
+
+    static StatisticsKernels.Summary summarizeWhere(double[] values, int[] codes, int code) {
+        int n = values.length;
+        int bound = DOUBLES.loopBound(n);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector maxes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            VectorMask<Double> selected = matches(codes, i, code);
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, values, i);
+            count += selected.trueCount();
+            sums = sums.add(v, selected);
+            mins = mins.lanewise(VectorOperators.MIN, v, selected);
+            maxes = maxes.lanewise(VectorOperators.MAX, v, selected);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < n; i++) {
+            if (codes[i] == code) {
+                count++;
+                sum += values[i];
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+        }
+
+        double mean = sum / count;
+        DoubleVector squares = DoubleVector.zero(DOUBLES);
+        for (i = 0; i < bound; i += DOUBLES.length()) {
+            VectorMask<Double> selected = matches(codes, i, code);
+            DoubleVector deviation = DoubleVector.fromArray(DOUBLES, values, i).sub(mean);
+            squares = squares.add(deviation.mul(deviation), selected);
+        }
+        double squareSum = squares.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            if (codes[i] == code) {
+                double deviation = values[i] - mean;
+                squareSum += deviation * deviation;
+            }
+        }
+        return new StatisticsKernels.Summary(count, sum, min, max, squareSum / count);
+    }
+
+    static int countEqual(int[] codes, int code) {
+        int i = 0;
+        int bound = INTS.loopBound(codes.length);
+        int count = 0;
+        for (; i < bound; i += INTS.length()) {
+            count += IntVector.fromArray(INTS, codes, i).eq(code).trueCount();
+        }
+        for (; i < codes.length; i++) {
+            if (codes[i] == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int countAtLeast(double[] values, double threshold) {
+        int i = 0;
+        int bound = DOUBLES.loopBound(values.length);
+        int count = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            count += DoubleVector.fromArray(DOUBLES, values, i).compare(VectorOperators.GE, threshold).trueCount();
+        }
+        for (; i < values.length; i++) {
+            if (values[i] >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Lanes of codes[offset ..] equal to code, as a mask over double lanes
+    private static VectorMask<Double> matches(int[] codes, int offset, int code) {
+        return IntVector.fromArray(CODES, codes, offset).eq(code).cast(DOUBLES);
+    }
+}
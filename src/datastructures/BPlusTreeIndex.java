@@ -0,0 +1,551 @@
+package datastructures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Disk-resident B+tree mapping String keys (student IDs) to long values.
+// The file is a sequence of fixed-size pages; only a bounded number of them is
+// cached in memory at any time, so the index can be far larger than the heap.
+// Leaves are chained left to right for ordered and range scans.
+//
+// Deletes remove the entry from its leaf without merging underfull pages; the
+// space is reused by later inserts into the same key range.
+public class BPlusTreeIndex implements Closeable {
+    public static final int PAGE_SIZE = 4096;
+    public static final int MAX_KEY_BYTES = 31;
+
+    private static final int MAGIC = 0x42505431; // "BPT1"
+    private static final int HEADER_PAGE = 0;
+    private static final int NO_PAGE = -1;
+
+    private static final byte LEAF = 0;
+    private static final byte INTERNAL = 1;
+
+    // Node layout: type (1) | count (2) | next leaf (4) | padding (1)
+    private static final int NODE_HEADER = 8;
+    private static final int KEY_SLOT = MAX_KEY_BYTES + 1;
+
+    // Leaf entry: key slot | value (8)
+    private static final int LEAF_ENTRY = KEY_SLOT + 8;
+    private static final int LEAF_CAPACITY = (PAGE_SIZE - NODE_HEADER) / LEAF_ENTRY;
+
+    // Internal node: child 0 (4) | entries of key slot + right child (4)
+    private static final int INTERNAL_ENTRY = KEY_SLOT + 4;
+    private static final int INTERNAL_START = NODE_HEADER + 4;
+    private static final int INTERNAL_CAPACITY = (PAGE_SIZE - INTERNAL_START) / INTERNAL_ENTRY;
+
+    // Called for every entry of a scan; return false to stop early
+    public interface EntryVisitor {
+        boolean visit(String key, long value);
+    }
+
+    private static class Page {
+        final int id;
+        final ByteBuffer data;
+        boolean dirty;
+        int pins;
+
+        Page(int id) {
+            this.id = id;
+            this.data = ByteBuffer.allocate(PAGE_SIZE);
+        }
+    }
+
+    // Returned by a child that had to split: the first key of the new right
+    // sibling and its page number
+    private static class Split {
+        final byte[] separator;
+        final int rightPage;
+
+        Split(byte[] separator, int rightPage) {
+            this.separator = separator;
+            this.rightPage = rightPage;
+        }
+    }
+
+    private final FileChannel channel;
+    private final int poolCapacity;
+    private final LinkedHashMap<Integer, Page> pool;
+    private int rootPage;
+    private int pageCount;
+
+    // Open or create an index file caching at most poolPages pages
+    public BPlusTreeIndex(Path file, int poolPages) throws IOException {
+        if (poolPages < 16) {
+            throw new IllegalArgumentException("Buffer pool needs at least 16 pages");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.poolCapacity = poolPages;
+        this.pool = new LinkedHashMap<>(poolPages, 0.75f, true);
+
+        if (channel.size() == 0) {
+            pageCount = 1;
+            Page root = newPage(LEAF);
+            rootPage = root.id;
+            unpin(root);
+            writeHeader();
+        } else {
+            readHeader();
+        }
+    }
+
+    // Point lookup - O(log n) page reads; returns -1 if the key is absent
+    public synchronized long get(String key) throws IOException {
+        byte[] k = encodeKey(key);
+        Page page = fetch(rootPage);
+
+        while (type(page) == INTERNAL) {
+            int child = childAt(page, childIndex(page, k));
+            unpin(page);
+            page = fetch(child);
+        }
+
+        try {
+            int pos = leafSearch(page, k);
+            return pos >= 0 ? page.data.getLong(leafOffset(pos) + KEY_SLOT) : -1;
+        } finally {
+            unpin(page);
+        }
+    }
+
+    public boolean containsKey(String key) throws IOException {
+        return get(key) != -1;
+    }
+
+    // Insert or replace - O(log n) page reads, splits propagate upwards
+    public synchronized void put(String key, long value) throws IOException {
+        byte[] k = encodeKey(key);
+        Split split = insert(rootPage, k, value);
+
+        if (split != null) {
+            Page root = newPage(INTERNAL);
+            root.data.putInt(NODE_HEADER, rootPage);
+            writeKey(root.data, INTERNAL_START, split.separator);
+            root.data.putInt(INTERNAL_START + KEY_SLOT, split.rightPage);
+            setCount(root, 1);
+            rootPage = root.id;
+            unpin(root);
+        }
+    }
+
+    // Remove a key - returns false if it was not present
+    public synchronized boolean remove(String key) throws IOException {
+        byte[] k = encodeKey(key);
+        Page page = fetch(rootPage);
+
+        while (type(page) == INTERNAL) {
+            int child = childAt(page, childIndex(page, k));
+            unpin(page);
+            page = fetch(child);
+        }
+
+        try {
+            int pos = leafSearch(page, k);
+            if (pos < 0) {
+                return false;
+            }
+            int count = count(page);
+            int from = leafOffset(pos + 1);
+            int to = leafOffset(count);
+            System.arraycopy(page.data.array(), from, page.data.array(), leafOffset(pos), to - from);
+            setCount(page, count - 1);
+            return true;
+        } finally {
+            unpin(page);
+        }
+    }
+
+    // Visit keys in [fromKey, toKey] in ascending order; null bounds are open
+    public synchronized void scan(String fromKey, String toKey, EntryVisitor visitor) throws IOException {
+        byte[] from = fromKey == null ? null : encodeKey(fromKey);
+        byte[] to = toKey == null ? null : encodeKey(toKey);
+
+        Page page = fetch(rootPage);
+        try {
+            while (type(page) == INTERNAL) {
+                int child = childAt(page, from == null ? 0 : childIndex(page, from));
+                unpin(page);
+                page = null;
+                page = fetch(child);
+            }
+
+            int pos = from == null ? 0 : lowerBound(page, from);
+            while (true) {
+                int count = count(page);
+                for (; pos < count; pos++) {
+                    int offset = leafOffset(pos);
+                    if (to != null && compareKey(page.data, offset, to) > 0) {
+                        return;
+                    }
+                    if (!visitor.visit(readKey(page.data, offset), page.data.getLong(offset + KEY_SLOT))) {
+                        return;
+                    }
+                }
+
+                int next = page.data.getInt(3);
+                unpin(page);
+                page = null;
+                if (next == NO_PAGE) {
+                    return;
+                }
+                page = fetch(next);
+                pos = 0;
+            }
+        } finally {
+            if (page != null) {
+                unpin(page);
+            }
+        }
+    }
+
+    // Visit every key starting with the given prefix, in ascending order
+    public void scanPrefix(String prefix, EntryVisitor visitor) throws IOException {
+        scan(prefix, null, (key, value) -> key.startsWith(prefix) && visitor.visit(key, value));
+    }
+
+    // Write every dirty page and the header back to the file
+    public synchronized void flush() throws IOException {
+        for (Page page : pool.values()) {
+            if (page.dirty) {
+                writePage(page);
+            }
+        }
+        writeHeader();
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ---------- insertion ----------
+
+    private Split insert(int pageId, byte[] key, long value) throws IOException {
+        Page page = fetch(pageId);
+        try {
+            if (type(page) == LEAF) {
+                return insertIntoLeaf(page, key, value);
+            }
+
+            int index = childIndex(page, key);
+            Split childSplit = insert(childAt(page, index), key, value);
+            return childSplit == null ? null : insertIntoInternal(page, index, childSplit);
+        } finally {
+            unpin(page);
+        }
+    }
+
+    private Split insertIntoLeaf(Page page, byte[] key, long value) throws IOException {
+        int pos = leafSearch(page, key);
+        if (pos >= 0) {
+            page.data.putLong(leafOffset(pos) + KEY_SLOT, value);
+            page.dirty = true;
+            return null;
+        }
+
+        pos = -pos - 1;
+        int count = count(page);
+        byte[] bytes = page.data.array();
+
+        if (count < LEAF_CAPACITY) {
+            System.arraycopy(bytes, leafOffset(pos), bytes, leafOffset(pos + 1), (count - pos) * LEAF_ENTRY);
+            writeKey(page.data, leafOffset(pos), key);
+            page.data.putLong(leafOffset(pos) + KEY_SLOT, value);
+            setCount(page, count + 1);
+            return null;
+        }
+
+        // Full leaf: lay out all entries plus the new one, then split in half
+        ByteBuffer merged = ByteBuffer.allocate((count + 1) * LEAF_ENTRY);
+        byte[] all = merged.array();
+        System.arraycopy(bytes, leafOffset(0), all, 0, pos * LEAF_ENTRY);
+        writeKey(merged, pos * LEAF_ENTRY, key);
+        merged.putLong(pos * LEAF_ENTRY + KEY_SLOT, value);
+        System.arraycopy(bytes, leafOffset(pos), all, (pos + 1) * LEAF_ENTRY, (count - pos) * LEAF_ENTRY);
+
+        int leftCount = (count + 1) / 2;
+        int rightCount = count + 1 - leftCount;
+
+        Page right = newPage(LEAF);
+        try {
+            System.arraycopy(all, 0, bytes, leafOffset(0), leftCount * LEAF_ENTRY);
+            System.arraycopy(all, leftCount * LEAF_ENTRY, right.data.array(), leafOffset(0), rightCount * LEAF_ENTRY);
+            setCount(page, leftCount);
+            setCount(right, rightCount);
+
+            right.data.putInt(3, page.data.getInt(3));
+            page.data.putInt(3, right.id);
+
+            byte[] separator = new byte[KEY_SLOT];
+            System.arraycopy(all, leftCount * LEAF_ENTRY, separator, 0, KEY_SLOT);
+            return new Split(separator, right.id);
+        } finally {
+            unpin(right);
+        }
+    }
+
+    private Split insertIntoInternal(Page page, int index, Split split) throws IOException {
+        int count = count(page);
+        byte[] bytes = page.data.array();
+
+        if (count < INTERNAL_CAPACITY) {
+            int from = internalOffset(index);
+            System.arraycopy(bytes, from, bytes, from + INTERNAL_ENTRY, (count - index) * INTERNAL_ENTRY);
+            System.arraycopy(split.separator, 0, bytes, from, KEY_SLOT);
+            page.data.putInt(from + KEY_SLOT, split.rightPage);
+            setCount(page, count + 1);
+            return null;
+        }
+
+        // Full node: gather keys and children, then push the middle key up
+        byte[][] keys = new byte[count + 1][];
+        int[] children = new int[count + 2];
+        children[0] = childAt(page, 0);
+        for (int i = 0, j = 0; i <= count; i++) {
+            if (i == index) {
+                keys[i] = split.separator;
+                children[i + 1] = split.rightPage;
+            } else {
+                keys[i] = new byte[KEY_SLOT];
+                System.arraycopy(bytes, internalOffset(j), keys[i], 0, KEY_SLOT);
+                children[i + 1] = childAt(page, j + 1);
+                j++;
+            }
+        }
+
+        int mid = (count + 1) / 2;
+        Page right = newPage(INTERNAL);
+        try {
+            writeChildren(page, keys, children, 0, mid);
+            writeChildren(right, keys, children, mid + 1, count + 1);
+            return new Split(keys[mid], right.id);
+        } finally {
+            unpin(right);
+        }
+    }
+
+    // Fill an internal node with keys[from, to) and children[from, to]
+    private void writeChildren(Page page, byte[][] keys, int[] children, int from, int to) {
+        page.data.putInt(NODE_HEADER, children[from]);
+        for (int i = from; i < to; i++) {
+            int offset = internalOffset(i - from);
+            System.arraycopy(keys[i], 0, page.data.array(), offset, KEY_SLOT);
+            page.data.putInt(offset + KEY_SLOT, children[i + 1]);
+        }
+        setCount(page, to - from);
+    }
+
+    // ---------- node access ----------
+
+    private static byte type(Page page) {
+        return page.data.get(0);
+    }
+
+    private static int count(Page page) {
+        return page.data.getShort(1);
+    }
+
+    private static void setCount(Page page, int count) {
+        page.data.putShort(1, (short) count);
+        page.dirty = true;
+    }
+
+    private static int leafOffset(int index) {
+        return NODE_HEADER + index * LEAF_ENTRY;
+    }
+
+    private static int internalOffset(int index) {
+        return INTERNAL_START + index * INTERNAL_ENTRY;
+    }
+
+    private static int childAt(Page page, int index) {
+        return index == 0
+            ? page.data.getInt(NODE_HEADER)
+            : page.data.getInt(internalOffset(index - 1) + KEY_SLOT);
+    }
+
+    // Child to descend into: the number of separators <= key
+    private static int childIndex(Page page, byte[] key) {
+        int low = 0;
+        int high = count(page);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(page.data, internalOffset(mid), key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Binary search in a leaf: index if found, otherwise -(insertion point) - 1
+    private static int leafSearch(Page page, byte[] key) {
+        int low = 0;
+        int high = count(page) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareKey(page.data, leafOffset(mid), key);
+            if (comparison == 0) {
+                return mid;
+            } else if (comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int lowerBound(Page page, byte[] key) {
+        int pos = leafSearch(page, key);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    // ---------- key encoding ----------
+
+    // Keys are stored as a length byte followed by UTF-8 bytes, and compared
+    // as unsigned bytes, which matches String order for ASCII student IDs
+    private static byte[] encodeKey(String key) {
+        byte[] utf8 = key.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Key longer than " + MAX_KEY_BYTES + " bytes: " + key);
+        }
+        byte[] slot = new byte[KEY_SLOT];
+        slot[0] = (byte) utf8.length;
+        System.arraycopy(utf8, 0, slot, 1, utf8.length);
+        return slot;
+    }
+
+    private static void writeKey(ByteBuffer data, int offset, byte[] key) {
+        System.arraycopy(key, 0, data.array(), offset, KEY_SLOT);
+    }
+
+    private static String readKey(ByteBuffer data, int offset) {
+        return new String(data.array(), offset + 1, data.get(offset), StandardCharsets.UTF_8);
+    }
+
+    private static int compareKey(ByteBuffer data, int offset, byte[] key) {
+        byte[] bytes = data.array();
+        int length = bytes[offset];
+        int otherLength = key[0];
+        int common = Math.min(length, otherLength);
+        for (int i = 1; i <= common; i++) {
+            int difference = (bytes[offset + i] & 0xFF) - (key[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - otherLength;
+    }
+
+    // ---------- buffer pool ----------
+
+    // Pin a page in the pool, reading it from disk if needed
+    private Page fetch(int pageId) throws IOException {
+        Page page = pool.get(pageId);
+        if (page == null) {
+            makeRoom();
+            page = new Page(pageId);
+            // A page past the end of the file has not been written yet: zeros
+            readFully(page.data, (long) pageId * PAGE_SIZE);
+            page.data.clear();
+            pool.put(pageId, page);
+        }
+        page.pins++;
+        return page;
+    }
+
+    private void unpin(Page page) {
+        page.pins--;
+    }
+
+    private Page newPage(byte type) throws IOException {
+        makeRoom();
+        Page page = new Page(pageCount++);
+        page.data.put(0, type);
+        page.data.putInt(3, NO_PAGE);
+        page.dirty = true;
+        page.pins = 1;
+        pool.put(page.id, page);
+        return page;
+    }
+
+    // Evict the least recently used unpinned page once the pool is full
+    private void makeRoom() throws IOException {
+        if (pool.size() < poolCapacity) {
+            return;
+        }
+
+        Iterator<Map.Entry<Integer, Page>> it = pool.entrySet().iterator();
+        while (it.hasNext()) {
+            Page candidate = it.next().getValue();
+            if (candidate.pins == 0) {
+                if (candidate.dirty) {
+                    writePage(candidate);
+                }
+                it.remove();
+                return;
+            }
+        }
+        throw new IllegalStateException("Buffer pool exhausted: all pages are pinned");
+    }
+
+    private void writePage(Page page) throws IOException {
+        ByteBuffer view = page.data.duplicate();
+        view.clear();
+        writeFully(view, (long) page.id * PAGE_SIZE);
+        page.dirty = false;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12);
+        header.putInt(MAGIC).putInt(rootPage).putInt(pageCount).flip();
+        writeFully(header, (long) HEADER_PAGE * PAGE_SIZE);
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12);
+        if (!readFully(header, (long) HEADER_PAGE * PAGE_SIZE)) {
+            throw new IOException("Truncated B+tree index header");
+        }
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a B+tree index file");
+        }
+        rootPage = header.getInt();
+        pageCount = header.getInt();
+    }
+
+    // Positional writes may be partial; loop until the buffer is drained.
+    // The buffer starts at index 0, which maps to the given file position.
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    // Fill the buffer from the given position; false if the file ended first
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
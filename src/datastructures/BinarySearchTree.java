@@ -2,136 +2,486 @@ package datastructures;
 
 import models.Student;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Red-black tree keyed by student ID. All operations are iterative, so the
+// stack depth stays constant and the height stays below 2 log(n + 1) even when
+// IDs are inserted in sequence.
+//
+// Iteration walks the tree in place through parent pointers: iterators,
+// spliterators and streams cost O(1) extra memory and are fail-fast.
+public class BinarySearchTree implements Iterable<Student> {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
 
-public class BinarySearchTree {
     private class Node {
         Student student;
-        Node left, right;
-        
-        Node(Student student) {
+        Node left, right, parent;
+        boolean color;
+
+        Node(Student student, Node parent) {
             this.student = student;
+            this.parent = parent;
+            this.color = RED;
             left = right = null;
         }
     }
-    
+
     private Node root;
     private int size;
-    
+    private int modCount;
+
     public BinarySearchTree() {
         root = null;
         size = 0;
     }
-    
-    // Insert student - O(log n) average, O(n) worst case
+
+    // Insert student - O(log n) worst case
+    // An existing student with the same ID is replaced
     public void insert(Student student) {
-        root = insertRec(root, student);
-        size++;
-    }
-    
-    private Node insertRec(Node root, Student student) {
-        if (root == null) {
-            return new Node(student);
+        String studentId = student.getStudentId();
+        Node parent = null;
+        Node current = root;
+        int comparison = 0;
+
+        while (current != null) {
+            parent = current;
+            comparison = studentId.compareTo(current.student.getStudentId());
+
+            if (comparison < 0) {
+                current = current.left;
+            } else if (comparison > 0) {
+                current = current.right;
+            } else {
+                current.student = student;
+                return;
+            }
         }
-        
-        int comparison = student.getStudentId().compareTo(root.student.getStudentId());
-        
-        if (comparison < 0) {
-            root.left = insertRec(root.left, student);
-        } else if (comparison > 0) {
-            root.right = insertRec(root.right, student);
+
+        Node node = new Node(student, parent);
+        if (parent == null) {
+            root = node;
+        } else if (comparison < 0) {
+            parent.left = node;
+        } else {
+            parent.right = node;
         }
-        
-        return root;
+
+        fixAfterInsert(node);
+        size++;
+        modCount++;
     }
-    
-    // Search student by ID - O(log n) average
+
+    // Search student by ID - O(log n) worst case
     public Student search(String studentId) {
-        return searchRec(root, studentId);
+        Node node = findNode(studentId);
+        return node != null ? node.student : null;
     }
-    
-    private Student searchRec(Node root, String studentId) {
-        if (root == null) {
-            return null;
-        }
-        
-        int comparison = studentId.compareTo(root.student.getStudentId());
-        
-        if (comparison == 0) {
-            return root.student;
-        } else if (comparison < 0) {
-            return searchRec(root.left, studentId);
-        } else {
-            return searchRec(root.right, studentId);
+
+    private Node findNode(String studentId) {
+        Node current = root;
+
+        while (current != null) {
+            int comparison = studentId.compareTo(current.student.getStudentId());
+
+            if (comparison == 0) {
+                return current;
+            } else if (comparison < 0) {
+                current = current.left;
+            } else {
+                current = current.right;
+            }
         }
+
+        return null;
     }
-    
-    // Delete student - O(log n) average
+
+    // Delete student - O(log n) worst case
     public boolean delete(String studentId) {
-        if (search(studentId) == null) {
+        Node node = findNode(studentId);
+        if (node == null) {
             return false;
         }
-        root = deleteRec(root, studentId);
+
+        // Node with two children: copy the successor up and delete that instead
+        if (node.left != null && node.right != null) {
+            Node successor = minNode(node.right);
+            node.student = successor.student;
+            node = successor;
+        }
+
+        // Node now has at most one child
+        Node replacement = node.left != null ? node.left : node.right;
+
+        if (replacement != null) {
+            replacement.parent = node.parent;
+            replaceChild(node, replacement);
+            node.left = node.right = node.parent = null;
+
+            if (node.color == BLACK) {
+                fixAfterDelete(replacement);
+            }
+        } else if (node.parent == null) {
+            root = null;
+        } else {
+            // Leaf: use it as its own phantom child during the fix-up
+            if (node.color == BLACK) {
+                fixAfterDelete(node);
+            }
+            replaceChild(node, null);
+            node.parent = null;
+        }
+
         size--;
+        modCount++;
         return true;
     }
-    
-    private Node deleteRec(Node root, String studentId) {
-        if (root == null) {
-            return null;
+
+    private Node minNode(Node node) {
+        while (node.left != null) {
+            node = node.left;
         }
-        
-        int comparison = studentId.compareTo(root.student.getStudentId());
-        
-        if (comparison < 0) {
-            root.left = deleteRec(root.left, studentId);
-        } else if (comparison > 0) {
-            root.right = deleteRec(root.right, studentId);
+        return node;
+    }
+
+    private void replaceChild(Node node, Node replacement) {
+        if (node.parent == null) {
+            root = replacement;
+        } else if (node == node.parent.left) {
+            node.parent.left = replacement;
         } else {
-            // Node with only one child or no child
-            if (root.left == null) {
-                return root.right;
-            } else if (root.right == null) {
-                return root.left;
-            }
-            
-            // Node with two children
-            root.student = minValue(root.right);
-            root.right = deleteRec(root.right, root.student.getStudentId());
-        }
-        
-        return root;
-    }
-    
-    private Student minValue(Node root) {
-        Student minValue = root.student;
-        while (root.left != null) {
-            minValue = root.left.student;
-            root = root.left;
-        }
-        return minValue;
-    }
-    
-    // Get all students (in-order traversal)
+            node.parent.right = replacement;
+        }
+    }
+
+    private void rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        if (pivot.left != null) {
+            pivot.left.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node, pivot);
+        pivot.left = node;
+        node.parent = pivot;
+    }
+
+    private void rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        if (pivot.right != null) {
+            pivot.right.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node, pivot);
+        pivot.right = node;
+        node.parent = pivot;
+    }
+
+    private static boolean colorOf(Node node) {
+        return node == null ? BLACK : node.color;
+    }
+
+    private void fixAfterInsert(Node node) {
+        while (node != root && node.parent.color == RED) {
+            Node parent = node.parent;
+            Node grandparent = parent.parent;
+
+            if (parent == grandparent.left) {
+                Node uncle = grandparent.right;
+                if (colorOf(uncle) == RED) {
+                    parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandparent.color = RED;
+                    node = grandparent;
+                } else {
+                    if (node == parent.right) {
+                        node = parent;
+                        rotateLeft(node);
+                        parent = node.parent;
+                    }
+                    parent.color = BLACK;
+                    grandparent.color = RED;
+                    rotateRight(grandparent);
+                }
+            } else {
+                Node uncle = grandparent.left;
+                if (colorOf(uncle) == RED) {
+                    parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandparent.color = RED;
+                    node = grandparent;
+                } else {
+                    if (node == parent.left) {
+                        node = parent;
+                        rotateRight(node);
+                        parent = node.parent;
+                    }
+                    parent.color = BLACK;
+                    grandparent.color = RED;
+                    rotateLeft(grandparent);
+                }
+            }
+        }
+        root.color = BLACK;
+    }
+
+    private void fixAfterDelete(Node node) {
+        while (node != root && colorOf(node) == BLACK) {
+            Node parent = node.parent;
+
+            if (node == parent.left) {
+                Node sibling = parent.right;
+                if (colorOf(sibling) == RED) {
+                    sibling.color = BLACK;
+                    parent.color = RED;
+                    rotateLeft(parent);
+                    sibling = parent.right;
+                }
+
+                if (colorOf(sibling.left) == BLACK && colorOf(sibling.right) == BLACK) {
+                    sibling.color = RED;
+                    node = parent;
+                } else {
+                    if (colorOf(sibling.right) == BLACK) {
+                        sibling.left.color = BLACK;
+                        sibling.color = RED;
+                        rotateRight(sibling);
+                        sibling = parent.right;
+                    }
+                    sibling.color = parent.color;
+                    parent.color = BLACK;
+                    sibling.right.color = BLACK;
+                    rotateLeft(parent);
+                    node = root;
+                }
+            } else {
+                Node sibling = parent.left;
+                if (colorOf(sibling) == RED) {
+                    sibling.color = BLACK;
+                    parent.color = RED;
+                    rotateRight(parent);
+                    sibling = parent.left;
+                }
+
+                if (colorOf(sibling.right) == BLACK && colorOf(sibling.left) == BLACK) {
+                    sibling.color = RED;
+                    node = parent;
+                } else {
+                    if (colorOf(sibling.left) == BLACK) {
+                        sibling.right.color = BLACK;
+                        sibling.color = RED;
+                        rotateLeft(sibling);
+                        sibling = parent.left;
+                    }
+                    sibling.color = parent.color;
+                    parent.color = BLACK;
+                    sibling.left.color = BLACK;
+                    rotateRight(parent);
+                    node = root;
+                }
+            }
+        }
+
+        if (node != null) {
+            node.color = BLACK;
+        }
+    }
+
+    // Get all students (in-order traversal) - O(n), no recursion
     public List<Student> getAllStudents() {
-        List<Student> students = new ArrayList<>();
-        inOrderTraversal(root, students);
+        List<Student> students = new ArrayList<>(size);
+        Node current = root == null ? null : minNode(root);
+
+        while (current != null) {
+            students.add(current.student);
+            current = successor(current);
+        }
+
         return students;
     }
-    
-    private void inOrderTraversal(Node root, List<Student> students) {
-        if (root != null) {
-            inOrderTraversal(root.left, students);
-            students.add(root.student);
-            inOrderTraversal(root.right, students);
+
+    private Node successor(Node node) {
+        if (node.right != null) {
+            return minNode(node.right);
         }
+
+        Node parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    // In-order iterator - O(1) extra memory, amortized O(1) per step
+    @Override
+    public Iterator<Student> iterator() {
+        return new StudentIterator();
+    }
+
+    // Splits the tree at subtree roots, so parallel streams need no copying
+    @Override
+    public Spliterator<Student> spliterator() {
+        return new StudentSpliterator(null, null, 0, -1, 0);
+    }
+
+    public Stream<Student> stream() {
+        return StreamSupport.stream(spliterator(), false);
     }
-    
+
+    public Stream<Student> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private class StudentIterator implements Iterator<Student> {
+        private Node next;
+        private final int expectedModCount;
+
+        StudentIterator() {
+            next = root == null ? null : minNode(root);
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Student next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            Student student = next.student;
+            next = successor(next);
+            return student;
+        }
+    }
+
+    // Covers the in-order range [current, fence). The top-level spliterator
+    // splits at the root, later ones at the right child of their first node
+    // or the left child of their fence.
+    private class StudentSpliterator implements Spliterator<Student> {
+        private Node current;
+        private Node fence;
+        private int side;
+        private int estimate;
+        private int expectedModCount;
+
+        StudentSpliterator(Node current, Node fence, int side, int estimate, int expectedModCount) {
+            this.current = current;
+            this.fence = fence;
+            this.side = side;
+            this.estimate = estimate;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getEstimate() {
+            if (estimate < 0) {
+                current = root == null ? null : minNode(root);
+                estimate = size;
+                expectedModCount = modCount;
+            }
+            return estimate;
+        }
+
+        @Override
+        public Spliterator<Student> trySplit() {
+            if (estimate < 0) {
+                getEstimate();
+            }
+            Node first = current;
+            Node last = fence;
+            Node split;
+            if (first == null || first == last) {
+                split = null;
+            } else if (side == 0) {
+                split = root;
+            } else if (side > 0) {
+                split = first.right;
+            } else {
+                split = last != null ? last.left : null;
+            }
+
+            if (split != null && split != first && split != last
+                    && first.student.getStudentId().compareTo(split.student.getStudentId()) < 0) {
+                side = 1;
+                current = split;
+                estimate >>>= 1;
+                return new StudentSpliterator(first, split, -1, estimate, expectedModCount);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Student> action) {
+            if (estimate < 0) {
+                getEstimate();
+            }
+            Node node = current;
+            if (node == null || node == fence) {
+                return false;
+            }
+            current = successor(node);
+            action.accept(node.student);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Student> action) {
+            if (estimate < 0) {
+                getEstimate();
+            }
+            Node node = current;
+            Node last = fence;
+            current = last;
+            while (node != null && node != last) {
+                action.accept(node.student);
+                node = successor(node);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEstimate();
+        }
+
+        @Override
+        public int characteristics() {
+            return (side == 0 ? Spliterator.SIZED : 0)
+                | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+
+        // Students are ordered by ID, which is their natural ordering
+        @Override
+        public Comparator<? super Student> getComparator() {
+            return null;
+        }
+    }
+
     public int getSize() {
         return size;
     }
-    
+
     public boolean isEmpty() {
         return size == 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package datastructures;
+
+import models.Student;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Thread-safe StudentHashTable. Keys are spread over independent segments,
+// each with its own read-write lock, so readers never block each other and
+// writers only contend when they hit the same segment. Each segment resizes
+// on its own, under its write lock.
+public class ConcurrentStudentHashTable {
+    private static final int MIN_SEGMENTS = 16;
+
+    private final StudentHashTable[] segments;
+    private final ReentrantReadWriteLock[] locks;
+    private final int segmentShift;
+    private final AtomicInteger size;
+
+    public ConcurrentStudentHashTable() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ConcurrentStudentHashTable(int concurrencyLevel) {
+        int count = MIN_SEGMENTS;
+        while (count < concurrencyLevel) {
+            count <<= 1;
+        }
+
+        segments = new StudentHashTable[count];
+        locks = new ReentrantReadWriteLock[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new StudentHashTable();
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        size = new AtomicInteger();
+    }
+
+    // Segment selection uses the top hash bits; the segment table itself
+    // indexes with the low bits, so the two stay independent
+    private int segmentFor(String key) {
+        return (key.hashCode() * 0x85EBCA6B) >>> segmentShift;
+    }
+
+    // Put student - O(1) average
+    public void put(String studentId, Student student) {
+        int index = segmentFor(studentId);
+        ReentrantReadWriteLock.WriteLock lock = locks[index].writeLock();
+        lock.lock();
+        try {
+            StudentHashTable segment = segments[index];
+            int before = segment.getSize();
+            segment.put(studentId, student);
+            size.addAndGet(segment.getSize() - before);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Get student - O(1) average, concurrent with other readers
+    public Student get(String studentId) {
+        int index = segmentFor(studentId);
+        ReentrantReadWriteLock.ReadLock lock = locks[index].readLock();
+        lock.lock();
+        try {
+            return segments[index].get(studentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remove student - O(1) average
+    public boolean remove(String studentId) {
+        int index = segmentFor(studentId);
+        ReentrantReadWriteLock.WriteLock lock = locks[index].writeLock();
+        lock.lock();
+        try {
+            boolean removed = segments[index].remove(studentId);
+            if (removed) {
+                size.decrementAndGet();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Check if contains student
+    public boolean contains(String studentId) {
+        return get(studentId) != null;
+    }
+
+    // Get all students - each segment is copied under its own read lock, so
+    // the result is consistent per segment but not across the whole table
+    public List<Student> getAllStudents() {
+        List<Student> students = new ArrayList<>(size.get());
+        for (int i = 0; i < segments.length; i++) {
+            ReentrantReadWriteLock.ReadLock lock = locks[i].readLock();
+            lock.lock();
+            try {
+                students.addAll(segments[i].getAllStudents());
+            } finally {
+                lock.unlock();
+            }
+        }
+        return students;
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+}
@@ -0,0 +1,140 @@
+package datastructures;
+
+import models.Student;
+import utils.StudentRecordCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Student store for datasets larger than memory. Records are appended to a
+// data file and located through a BPlusTreeIndex on student ID, so point
+// lookups and ordered range scans only touch the pages they need.
+//
+// Records use the compact StudentRecordCodec format (varints and UTF-8, no
+// class descriptors), so they survive changes to the model classes.
+// Updates append a new copy of the record and repoint the index; the stale
+// copy stays in the data file until it is rewritten.
+//
+// This is a standalone storage engine: StudentService keeps its in-memory
+// indexes and does not read through it.
+public class DiskStudentStore implements Closeable {
+    private final BPlusTreeIndex index;
+    private final FileChannel data;
+    // Shares one Course object per course code across the records it reads
+    private final StudentRecordCodec codec;
+
+    // Called for every student of a scan; return false to stop early
+    public interface StudentVisitor {
+        boolean visit(Student student);
+    }
+
+    public DiskStudentStore(Path indexFile, Path dataFile, int poolPages) throws IOException {
+        this.index = new BPlusTreeIndex(indexFile, poolPages);
+        this.data = FileChannel.open(dataFile, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.codec = new StudentRecordCodec();
+    }
+
+    // Insert or replace a student - O(log n) page reads plus one append
+    public synchronized void put(Student student) throws IOException {
+        byte[] record = encode(student);
+        long offset = data.size();
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + record.length);
+        buffer.putInt(record.length).put(record).flip();
+        while (buffer.hasRemaining()) {
+            data.write(buffer, offset + buffer.position());
+        }
+
+        index.put(student.getStudentId(), offset);
+    }
+
+    // Find student by ID - null if absent
+    public synchronized Student get(String studentId) throws IOException {
+        long offset = index.get(studentId);
+        return offset < 0 ? null : read(offset);
+    }
+
+    public synchronized boolean remove(String studentId) throws IOException {
+        return index.remove(studentId);
+    }
+
+    // Visit students with IDs in [fromId, toId] in ID order; null bounds are open
+    public synchronized void scan(String fromId, String toId, StudentVisitor visitor) throws IOException {
+        IOException[] failure = new IOException[1];
+        index.scan(fromId, toId, (key, offset) -> {
+            try {
+                return visitor.visit(read(offset));
+            } catch (IOException e) {
+                failure[0] = e;
+                return false;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    // All students in an ID range, e.g. "2024CS000" to "2024CS999"
+    public List<Student> getStudentsInRange(String fromId, String toId) throws IOException {
+        List<Student> students = new ArrayList<>();
+        scan(fromId, toId, student -> students.add(student));
+        return students;
+    }
+
+    // All students whose ID starts with the given prefix
+    public List<Student> getStudentsWithPrefix(String prefix) throws IOException {
+        List<Student> students = new ArrayList<>();
+        scan(prefix, null, student -> student.getStudentId().startsWith(prefix) && students.add(student));
+        return students;
+    }
+
+    public synchronized void flush() throws IOException {
+        index.flush();
+        data.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            index.close();
+        } finally {
+            data.close();
+        }
+    }
+
+    private Student read(long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(length, offset);
+        ByteBuffer record = ByteBuffer.allocate(length.getInt(0));
+        readFully(record, offset + 4);
+        return decode(record.array());
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of student data file");
+            }
+        }
+    }
+
+    private byte[] encode(Student student) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.write(new DataOutputStream(bytes), student);
+        return bytes.toByteArray();
+    }
+
+    private Student decode(byte[] record) throws IOException {
+        return codec.read(new DataInputStream(new ByteArrayInputStream(record)));
+    }
+}
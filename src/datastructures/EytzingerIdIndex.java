@@ -0,0 +1,151 @@
+package datastructures;
+
+import models.Student;
+import utils.StudentIdKeys;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable, read-optimized index from student ID to record. Each ID is
+// packed into a fixed-width long key and the sorted keys are laid out in
+// Eytzinger (breadth-first) order: the children of slot k are slots 2k and
+// 2k + 1. A lookup walks down from slot 1 with the comparison folded into
+// the index arithmetic instead of a branch, so the loop always runs about
+// log2(n) steps, and the first levels, shared by every lookup, stay in
+// L1/L2 cache. Java has no prefetch instruction; the layout makes the next
+// probes of the top levels land on cache lines that are already loaded.
+// A parallel array holds the record handle for each slot, so a hit costs one
+// String.equals on the student found.
+//
+// Keys come from StudentIdKeys: the compact key when every ID uses only
+// digits and upper-case letters (e.g. "2024CS00042"), otherwise the ASCII
+// key. Longer IDs sharing a key prefix are chained on their slot and
+// resolved by comparing the full ID. IDs outside printable ASCII have no key
+// and are kept in a small hash map instead.
+public class EytzingerIdIndex {
+    private final boolean compact;
+    private final int size;
+    // Slot 0 is unused; slots 1 .. keyCount hold the distinct keys
+    private final long[] keys;
+    private final Student[] handles;
+    // Further students sharing a slot's key, or null (rare, see above)
+    private final Student[][] collisions;
+    // Students whose ID cannot be encoded
+    private final Map<String, Student> unkeyed;
+
+    // Build from any collection of students - O(n log n), O(n) if the
+    // students arrive in ID order (as from a PersistentStudentTree snapshot)
+    public EytzingerIdIndex(Iterable<Student> students) {
+        List<Student> list = new ArrayList<>();
+        Map<String, Student> others = new HashMap<>();
+        boolean allCompact = true;
+        for (Student student : students) {
+            String studentId = student.getStudentId();
+            if (StudentIdKeys.asciiKey(studentId) < 0) {
+                others.put(studentId, student);
+                continue;
+            }
+            list.add(student);
+            allCompact &= StudentIdKeys.compactKey(studentId) >= 0;
+        }
+        this.compact = allCompact;
+        this.unkeyed = others;
+        this.size = list.size() + others.size();
+
+        int keyed = list.size();
+        long[] sortedKeys = new long[keyed];
+        Student[] sorted = list.toArray(new Student[keyed]);
+        boolean ordered = true;
+        for (int i = 0; i < keyed; i++) {
+            sortedKeys[i] = keyOf(sorted[i].getStudentId());
+            ordered &= i == 0 || sortedKeys[i - 1] <= sortedKeys[i];
+        }
+        if (!ordered) {
+            Arrays.sort(sorted, (a, b) -> Long.compare(keyOf(a.getStudentId()), keyOf(b.getStudentId())));
+            for (int i = 0; i < keyed; i++) {
+                sortedKeys[i] = keyOf(sorted[i].getStudentId());
+            }
+        }
+
+        // Group equal keys: one slot per distinct key
+        int distinct = 0;
+        int[] groupStart = new int[keyed + 1];
+        for (int i = 0; i < keyed; i++) {
+            if (i == 0 || sortedKeys[i] != sortedKeys[i - 1]) {
+                groupStart[distinct++] = i;
+            }
+        }
+        groupStart[distinct] = keyed;
+
+        this.keys = new long[distinct + 1];
+        this.handles = new Student[distinct + 1];
+        this.collisions = new Student[distinct + 1][];
+        fill(1, 0, sortedKeys, sorted, groupStart);
+    }
+
+    // In-order walk of the implicit tree hands out the sorted groups
+    private int fill(int slot, int group, long[] sortedKeys, Student[] sorted, int[] groupStart) {
+        if (slot >= keys.length) {
+            return group;
+        }
+        group = fill(2 * slot, group, sortedKeys, sorted, groupStart);
+        int start = groupStart[group];
+        int end = groupStart[group + 1];
+        keys[slot] = sortedKeys[start];
+        handles[slot] = sorted[start];
+        if (end - start > 1) {
+            collisions[slot] = Arrays.copyOfRange(sorted, start + 1, end);
+        }
+        return fill(2 * slot + 1, group + 1, sortedKeys, sorted, groupStart);
+    }
+
+    // Student with this ID, or null - O(log n) with no data-dependent branches
+    // in the descent
+    public Student find(String studentId) {
+        if (studentId == null) {
+            return null;
+        }
+        long key = keyOf(studentId);
+        if (key < 0) {
+            return unkeyed.get(studentId);
+        }
+
+        int n = keys.length - 1;
+        int slot = 1;
+        while (slot <= n) {
+            // Keys are non-negative, so the sign of the difference is the comparison
+            slot = 2 * slot + (int) ((keys[slot] - key) >>> 63);
+        }
+        // Undo the trailing right turns (and the final left one) to reach the
+        // first key not less than the target
+        slot >>>= Integer.numberOfTrailingZeros(~slot) + 1;
+        if (slot == 0 || keys[slot] != key) {
+            return null;
+        }
+
+        Student student = handles[slot];
+        if (student.getStudentId().equals(studentId)) {
+            return student;
+        }
+        if (collisions[slot] != null) {
+            for (Student other : collisions[slot]) {
+                if (other.getStudentId().equals(studentId)) {
+                    return other;
+                }
+            }
+        }
+        return null;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // Key used by this index, or -1 if the ID cannot be encoded (a compact
+    // index never holds IDs outside digits and upper case)
+    private long keyOf(String studentId) {
+        return compact ? StudentIdKeys.compactKey(studentId) : StudentIdKeys.asciiKey(studentId);
+    }
+}
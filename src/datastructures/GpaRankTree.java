@@ -0,0 +1,260 @@
+package datastructures;
+
+import models.Student;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Order-statistic AVL tree ranking students by GPA (highest first, ties by
+// student ID). Every node stores the size of its subtree, so rank, select and
+// percentile queries run in O(log n) and top-K in O(log n + k).
+//
+// A student's GPA is captured when it is indexed; call put() again after the
+// results change to move it to its new position.
+public class GpaRankTree {
+
+    private static class Node {
+        final double gpa;
+        final String studentId;
+        final Student student;
+        Node left, right;
+        int height, size;
+
+        Node(double gpa, Student student) {
+            this.gpa = gpa;
+            this.studentId = student.getStudentId();
+            this.student = student;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+
+    private Node root;
+    private final Map<String, Double> indexedGpa;
+
+    public GpaRankTree() {
+        root = null;
+        indexedGpa = new HashMap<>();
+    }
+
+    // Index or re-index a student at its current GPA - O(log n)
+    public void put(Student student) {
+        remove(student.getStudentId());
+        double gpa = student.calculateGPA();
+        root = insert(root, new Node(gpa, student));
+        indexedGpa.put(student.getStudentId(), gpa);
+    }
+
+    // Remove a student - O(log n)
+    public boolean remove(String studentId) {
+        Double gpa = indexedGpa.remove(studentId);
+        if (gpa == null) {
+            return false;
+        }
+        root = delete(root, gpa, studentId);
+        return true;
+    }
+
+    // 1-based position by GPA (1 = highest), or -1 if not indexed - O(log n)
+    public int rank(String studentId) {
+        Double gpa = indexedGpa.get(studentId);
+        if (gpa == null) {
+            return -1;
+        }
+
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = compare(gpa, studentId, node);
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                if (comparison == 0) {
+                    return rank;
+                }
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    public int rank(Student student) {
+        return rank(student.getStudentId());
+    }
+
+    // Student at the given 1-based rank, or null if out of range - O(log n)
+    public Student select(int rank) {
+        if (rank < 1 || rank > size(root)) {
+            return null;
+        }
+
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (rank <= leftSize) {
+                node = node.left;
+            } else if (rank == leftSize + 1) {
+                return node.student;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Share of the other students ranked below this one, from 0 to 100,
+    // or -1 if not indexed - O(log n)
+    public double percentile(String studentId) {
+        int rank = rank(studentId);
+        if (rank < 0) {
+            return -1;
+        }
+        int total = size(root);
+        return total == 1 ? 100.0 : 100.0 * (total - rank) / (total - 1);
+    }
+
+    // Student at the given percentile (100 = best, 0 = lowest) - O(log n)
+    public Student selectPercentile(double percentile) {
+        int total = size(root);
+        if (total == 0) {
+            return null;
+        }
+        double clamped = Math.max(0, Math.min(100, percentile));
+        int rank = total - (int) Math.round(clamped / 100.0 * (total - 1));
+        return select(rank);
+    }
+
+    // The k highest-ranked students, best first - O(log n + k)
+    public List<Student> topK(int k) {
+        int count = Math.max(0, Math.min(k, size(root)));
+        List<Student> students = new ArrayList<>(count);
+        Node[] stack = new Node[root == null ? 0 : root.height];
+        int depth = 0;
+        Node node = root;
+
+        while (students.size() < count) {
+            while (node != null) {
+                stack[depth++] = node;
+                node = node.left;
+            }
+            node = stack[--depth];
+            students.add(node.student);
+            node = node.right;
+        }
+        return students;
+    }
+
+    public int getSize() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // Descending GPA, then ascending student ID
+    private static int compare(double gpa, String studentId, Node node) {
+        int comparison = Double.compare(node.gpa, gpa);
+        return comparison != 0 ? comparison : studentId.compareTo(node.studentId);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.gpa, added.studentId, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, double gpa, String studentId) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = compare(gpa, studentId, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, gpa, studentId);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, gpa, studentId);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int difference = height(node.left) - height(node.right);
+
+        if (difference > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (difference < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
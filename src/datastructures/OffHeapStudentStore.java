@@ -0,0 +1,487 @@
+package datastructures;
+
+import models.Student;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Optional storage engine that keeps student fields off the Java heap in
+// columnar MemorySegments (Foreign Function & Memory API):
+//   - student IDs as fixed-width 16-byte keys
+//   - semesters and GPAs as primitive columns
+//   - departments dictionary-encoded to int codes
+//   - names, emails and phones as (64-bit offset, length) pairs into a UTF-8
+//     heap
+// Rows are read through StudentView flyweights, so scanning a million rows
+// touches a few contiguous columns instead of a million object graphs.
+//
+// Results are not stored; the GPA column holds the value at the time the
+// student was put. Text of replaced or removed rows is garbage in the text
+// heap; once it makes up half the heap, the live strings are compacted into
+// a fresh segment instead of growing it.
+// Not thread-safe for writers, like StudentHashTable.
+public class OffHeapStudentStore implements AutoCloseable {
+    public static final int ID_BYTES = 16;
+
+    private static final int INITIAL_ROWS = 1024;
+    private static final int TEXT_FIELDS = 3; // name, email, phone
+    private static final int NAME = 0;
+    private static final int EMAIL = 1;
+    private static final int PHONE = 2;
+    private static final long INITIAL_TEXT_BYTES_PER_ROW = 64;
+
+    private static final ValueLayout.OfLong KEY_PART = ValueLayout.JAVA_LONG_UNALIGNED;
+
+    // One off-heap column; growing it moves the data into a fresh arena
+    private static final class Column implements AutoCloseable {
+        private Arena arena;
+        private MemorySegment segment;
+
+        Column(long bytes) {
+            arena = Arena.ofShared();
+            segment = arena.allocate(bytes, Long.BYTES);
+            segment.fill((byte) 0);
+        }
+
+        void grow(long bytes) {
+            Arena next = Arena.ofShared();
+            MemorySegment larger = next.allocate(bytes, Long.BYTES);
+            larger.fill((byte) 0);
+            MemorySegment.copy(segment, 0, larger, 0, segment.byteSize());
+            arena.close();
+            arena = next;
+            segment = larger;
+        }
+
+        @Override
+        public void close() {
+            arena.close();
+        }
+    }
+
+    private final Column ids;
+    private final Column semesters;
+    private final Column departments;
+    private final Column gpas;
+    private final Column textOffsets;
+    private final Column textLengths;
+    private Column text;
+    private Column slots;
+
+    private final List<String> departmentNames;
+    private final Map<String, Integer> departmentCodes;
+
+    private int rowCapacity;
+    private int rows;
+    private long textUsed;
+    // Bytes of the text heap still referenced by a row
+    private long textLive;
+    private int slotMask;
+
+    public OffHeapStudentStore() {
+        rowCapacity = INITIAL_ROWS;
+        ids = new Column((long) rowCapacity * ID_BYTES);
+        semesters = new Column((long) rowCapacity * Integer.BYTES);
+        departments = new Column((long) rowCapacity * Integer.BYTES);
+        gpas = new Column((long) rowCapacity * Double.BYTES);
+        textOffsets = new Column((long) rowCapacity * TEXT_FIELDS * Long.BYTES);
+        textLengths = new Column((long) rowCapacity * TEXT_FIELDS * Integer.BYTES);
+        text = new Column(rowCapacity * INITIAL_TEXT_BYTES_PER_ROW);
+        slots = new Column((long) rowCapacity * 2 * Integer.BYTES);
+        slotMask = rowCapacity * 2 - 1;
+
+        departmentNames = new ArrayList<>();
+        departmentCodes = new HashMap<>();
+    }
+
+    // Read-only cursor over one row; move it with moveTo() to reuse it
+    public final class StudentView {
+        private int row;
+
+        private StudentView(int row) {
+            this.row = row;
+        }
+
+        public void moveTo(int row) {
+            this.row = row;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getStudentId() {
+            long offset = (long) row * ID_BYTES;
+            int length = 0;
+            while (length < ID_BYTES && ids.segment.get(ValueLayout.JAVA_BYTE, offset + length) != 0) {
+                length++;
+            }
+            byte[] bytes = new byte[length];
+            MemorySegment.copy(ids.segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public String getName() {
+            return readText(row, NAME);
+        }
+
+        public String getEmail() {
+            return readText(row, EMAIL);
+        }
+
+        public String getPhone() {
+            return readText(row, PHONE);
+        }
+
+        public String getDepartment() {
+            return departmentNames.get(getDepartmentCode());
+        }
+
+        public int getDepartmentCode() {
+            return departments.segment.getAtIndex(ValueLayout.JAVA_INT, row);
+        }
+
+        public int getSemester() {
+            return semesters.segment.getAtIndex(ValueLayout.JAVA_INT, row);
+        }
+
+        public double getGPA() {
+            return gpas.segment.getAtIndex(ValueLayout.JAVA_DOUBLE, row);
+        }
+
+        // Heap copy of the row's fields (without results)
+        public Student toStudent() {
+            return new Student(getStudentId(), getName(), getEmail(), getPhone(),
+                getDepartment(), getSemester());
+        }
+    }
+
+    // Insert or replace a student - O(1) average
+    public void put(Student student) {
+        byte[] key = encodeId(student.getStudentId());
+        int slot = findSlot(key);
+        int row;
+
+        if (slot >= 0) {
+            row = slots.segment.getAtIndex(ValueLayout.JAVA_INT, slot) - 1;
+            releaseText(row);
+        } else {
+            if (rows == rowCapacity) {
+                grow();
+            }
+            row = rows++;
+            MemorySegment.copy(key, 0, ids.segment, ValueLayout.JAVA_BYTE, (long) row * ID_BYTES, ID_BYTES);
+            clearText(row);
+            insertSlot(row);
+        }
+
+        semesters.segment.setAtIndex(ValueLayout.JAVA_INT, row, student.getSemester());
+        departments.segment.setAtIndex(ValueLayout.JAVA_INT, row, departmentCode(student.getDepartment()));
+        gpas.segment.setAtIndex(ValueLayout.JAVA_DOUBLE, row, student.calculateGPA());
+        writeText(row, NAME, student.getName());
+        writeText(row, EMAIL, student.getEmail());
+        writeText(row, PHONE, student.getPhone());
+    }
+
+    // Find a student - O(1) average; returns a new view or null
+    public StudentView get(String studentId) {
+        int slot = findSlot(encodeId(studentId));
+        return slot < 0 ? null : new StudentView(slots.segment.getAtIndex(ValueLayout.JAVA_INT, slot) - 1);
+    }
+
+    public boolean contains(String studentId) {
+        return findSlot(encodeId(studentId)) >= 0;
+    }
+
+    // Remove a student; the last row moves into the gap - O(1) average
+    public boolean remove(String studentId) {
+        int slot = findSlot(encodeId(studentId));
+        if (slot < 0) {
+            return false;
+        }
+
+        int row = slots.segment.getAtIndex(ValueLayout.JAVA_INT, slot) - 1;
+        deleteSlot(slot);
+        releaseText(row);
+
+        int last = --rows;
+        if (row != last) {
+            int movedSlot = slotOfRow(last);
+            slots.segment.setAtIndex(ValueLayout.JAVA_INT, movedSlot, row + 1);
+            copyRow(last, row);
+        }
+        return true;
+    }
+
+    // Visit every row with one reused view - a sequential scan of the columns
+    public void forEach(Consumer<StudentView> action) {
+        StudentView view = new StudentView(0);
+        for (int row = 0; row < rows; row++) {
+            view.moveTo(row);
+            action.accept(view);
+        }
+    }
+
+    // Average GPA over all rows, reading only the GPA column
+    public double averageGPA() {
+        if (rows == 0) {
+            return 0.0;
+        }
+        double total = 0;
+        MemorySegment column = gpas.segment;
+        for (int row = 0; row < rows; row++) {
+            total += column.getAtIndex(ValueLayout.JAVA_DOUBLE, row);
+        }
+        return total / rows;
+    }
+
+    // Number of students in a department, comparing int codes only
+    public int countByDepartment(String department) {
+        Integer code = departmentCodes.get(department);
+        if (code == null) {
+            return 0;
+        }
+        int count = 0;
+        MemorySegment column = departments.segment;
+        for (int row = 0; row < rows; row++) {
+            if (column.getAtIndex(ValueLayout.JAVA_INT, row) == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getSize() {
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return rows == 0;
+    }
+
+    // Off-heap bytes currently reserved by all columns
+    public long getOffHeapBytes() {
+        return ids.segment.byteSize() + semesters.segment.byteSize() + departments.segment.byteSize()
+            + gpas.segment.byteSize() + textOffsets.segment.byteSize() + textLengths.segment.byteSize()
+            + text.segment.byteSize()
+            + slots.segment.byteSize();
+    }
+
+    @Override
+    public void close() {
+        ids.close();
+        semesters.close();
+        departments.close();
+        gpas.close();
+        textOffsets.close();
+        textLengths.close();
+        text.close();
+        slots.close();
+    }
+
+    // ---------- text heap ----------
+
+    // Append a string to the text heap - amortized O(length). A row's
+    // previous text must already be released.
+    private void writeText(int row, int field, String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (textUsed + bytes.length > text.segment.byteSize()) {
+            makeTextRoom(bytes.length);
+        }
+        MemorySegment.copy(bytes, 0, text.segment, ValueLayout.JAVA_BYTE, textUsed, bytes.length);
+
+        long ref = (long) row * TEXT_FIELDS + field;
+        textOffsets.segment.setAtIndex(ValueLayout.JAVA_LONG, ref, textUsed);
+        textLengths.segment.setAtIndex(ValueLayout.JAVA_INT, ref, bytes.length);
+        textUsed += bytes.length;
+        textLive += bytes.length;
+    }
+
+    private String readText(int row, int field) {
+        long ref = (long) row * TEXT_FIELDS + field;
+        long offset = textOffsets.segment.getAtIndex(ValueLayout.JAVA_LONG, ref);
+        int length = textLengths.segment.getAtIndex(ValueLayout.JAVA_INT, ref);
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(text.segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Mark a row's strings as garbage and leave it with empty ones, so a
+    // compaction in the middle of a put copies only live text
+    private void releaseText(int row) {
+        for (int field = 0; field < TEXT_FIELDS; field++) {
+            textLive -= textLengths.segment.getAtIndex(ValueLayout.JAVA_INT, (long) row * TEXT_FIELDS + field);
+        }
+        clearText(row);
+    }
+
+    private void clearText(int row) {
+        for (int field = 0; field < TEXT_FIELDS; field++) {
+            textLengths.segment.setAtIndex(ValueLayout.JAVA_INT, (long) row * TEXT_FIELDS + field, 0);
+        }
+    }
+
+    // Compact when at least half the heap is garbage, otherwise double it;
+    // either way the heap ends up with room for the given bytes
+    private void makeTextRoom(int bytes) {
+        long capacity = text.segment.byteSize();
+        if (textUsed - textLive >= capacity / 2) {
+            capacity = Math.max(capacity, (textLive + bytes) * 2);
+            compactText(capacity);
+        } else {
+            text.grow(Math.max(capacity * 2, textUsed + bytes));
+        }
+    }
+
+    // Copy every live string, row by row, into a fresh segment - O(live bytes)
+    private void compactText(long capacity) {
+        Column compacted = new Column(capacity);
+        long used = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int field = 0; field < TEXT_FIELDS; field++) {
+                long ref = (long) row * TEXT_FIELDS + field;
+                long offset = textOffsets.segment.getAtIndex(ValueLayout.JAVA_LONG, ref);
+                int length = textLengths.segment.getAtIndex(ValueLayout.JAVA_INT, ref);
+                MemorySegment.copy(text.segment, offset, compacted.segment, used, length);
+                textOffsets.segment.setAtIndex(ValueLayout.JAVA_LONG, ref, used);
+                used += length;
+            }
+        }
+        text.close();
+        text = compacted;
+        textUsed = used;
+        textLive = used;
+    }
+
+    private int departmentCode(String department) {
+        String name = department == null ? "" : department;
+        Integer code = departmentCodes.get(name);
+        if (code == null) {
+            code = departmentNames.size();
+            departmentNames.add(name);
+            departmentCodes.put(name, code);
+        }
+        return code;
+    }
+
+    // ---------- rows ----------
+
+    private void grow() {
+        rowCapacity *= 2;
+        ids.grow((long) rowCapacity * ID_BYTES);
+        semesters.grow((long) rowCapacity * Integer.BYTES);
+        departments.grow((long) rowCapacity * Integer.BYTES);
+        gpas.grow((long) rowCapacity * Double.BYTES);
+        textOffsets.grow((long) rowCapacity * TEXT_FIELDS * Long.BYTES);
+        textLengths.grow((long) rowCapacity * TEXT_FIELDS * Integer.BYTES);
+
+        // Rebuild the ID index at the new size
+        slots.close();
+        slots = new Column((long) rowCapacity * 2 * Integer.BYTES);
+        slotMask = rowCapacity * 2 - 1;
+        for (int row = 0; row < rows; row++) {
+            insertSlot(row);
+        }
+    }
+
+    private void copyRow(int from, int to) {
+        MemorySegment.copy(ids.segment, (long) from * ID_BYTES, ids.segment, (long) to * ID_BYTES, ID_BYTES);
+        semesters.segment.setAtIndex(ValueLayout.JAVA_INT, to,
+            semesters.segment.getAtIndex(ValueLayout.JAVA_INT, from));
+        departments.segment.setAtIndex(ValueLayout.JAVA_INT, to,
+            departments.segment.getAtIndex(ValueLayout.JAVA_INT, from));
+        gpas.segment.setAtIndex(ValueLayout.JAVA_DOUBLE, to,
+            gpas.segment.getAtIndex(ValueLayout.JAVA_DOUBLE, from));
+        long offsetBytes = TEXT_FIELDS * Long.BYTES;
+        MemorySegment.copy(textOffsets.segment, from * offsetBytes, textOffsets.segment, to * offsetBytes, offsetBytes);
+        long lengthBytes = TEXT_FIELDS * Integer.BYTES;
+        MemorySegment.copy(textLengths.segment, from * lengthBytes, textLengths.segment, to * lengthBytes, lengthBytes);
+    }
+
+    // ---------- off-heap ID index (linear probing, slot = row + 1, 0 = empty) ----------
+
+    private static byte[] encodeId(String studentId) {
+        byte[] utf8 = studentId.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > ID_BYTES) {
+            throw new IllegalArgumentException("Student ID longer than " + ID_BYTES + " bytes: " + studentId);
+        }
+        byte[] key = new byte[ID_BYTES];
+        System.arraycopy(utf8, 0, key, 0, utf8.length);
+        return key;
+    }
+
+    private static int hash(long low, long high) {
+        long h = low * 0x9E3779B97F4A7C15L ^ high * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int homeSlotOfRow(int row) {
+        long offset = (long) row * ID_BYTES;
+        return hash(ids.segment.get(KEY_PART, offset), ids.segment.get(KEY_PART, offset + 8)) & slotMask;
+    }
+
+    private int findSlot(byte[] key) {
+        MemorySegment keySegment = MemorySegment.ofArray(key);
+        long low = keySegment.get(KEY_PART, 0);
+        long high = keySegment.get(KEY_PART, 8);
+        int slot = hash(low, high) & slotMask;
+
+        while (true) {
+            int entry = slots.segment.getAtIndex(ValueLayout.JAVA_INT, slot);
+            if (entry == 0) {
+                return -1;
+            }
+            long offset = (long) (entry - 1) * ID_BYTES;
+            if (ids.segment.get(KEY_PART, offset) == low && ids.segment.get(KEY_PART, offset + 8) == high) {
+                return slot;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    private int slotOfRow(int row) {
+        int slot = homeSlotOfRow(row);
+        while (slots.segment.getAtIndex(ValueLayout.JAVA_INT, slot) != row + 1) {
+            slot = (slot + 1) & slotMask;
+        }
+        return slot;
+    }
+
+    private void insertSlot(int row) {
+        int slot = homeSlotOfRow(row);
+        while (slots.segment.getAtIndex(ValueLayout.JAVA_INT, slot) != 0) {
+            slot = (slot + 1) & slotMask;
+        }
+        slots.segment.setAtIndex(ValueLayout.JAVA_INT, slot, row + 1);
+    }
+
+    // Backward-shift deletion for linear probing
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & slotMask;
+
+        while (true) {
+            int entry = slots.segment.getAtIndex(ValueLayout.JAVA_INT, next);
+            if (entry == 0) {
+                break;
+            }
+            int home = homeSlotOfRow(entry - 1);
+            // Move the entry back if its home is not between the hole and its slot
+            boolean movable = hole <= next
+                ? (home <= hole || home > next)
+                : (home <= hole && home > next);
+            if (movable) {
+                slots.segment.setAtIndex(ValueLayout.JAVA_INT, hole, entry);
+                hole = next;
+            }
+            next = (next + 1) & slotMask;
+        }
+        slots.segment.setAtIndex(ValueLayout.JAVA_INT, hole, 0);
+    }
+}
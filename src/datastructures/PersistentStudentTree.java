@@ -0,0 +1,220 @@
+package datastructures;
+
+import models.Student;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Immutable AVL tree keyed by student ID with path copying. A write copies
+// only the O(log n) nodes on the path to the change and publishes a new root,
+// so readers holding an older Snapshot keep a consistent view without locks
+// and never hold up writers.
+public class PersistentStudentTree {
+
+    private static final class Node {
+        final Student student;
+        final Node left, right;
+        final int height;
+
+        Node(Student student, Node left, Node right) {
+            this.student = student;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    // Point-in-time view of the tree; never changes after it is published
+    public static final class Snapshot implements Iterable<Student> {
+        private final Node root;
+        private final int size;
+
+        private Snapshot(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        // Search student by ID - O(log n)
+        public Student search(String studentId) {
+            Node node = find(root, studentId);
+            return node != null ? node.student : null;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public List<Student> getAllStudents() {
+            List<Student> students = new ArrayList<>(size);
+            for (Student student : this) {
+                students.add(student);
+            }
+            return students;
+        }
+
+        // In-order iterator - the explicit stack is bounded by the tree height
+        @Override
+        public Iterator<Student> iterator() {
+            return new Iterator<Student>() {
+                private final Node[] stack = new Node[root == null ? 0 : root.height];
+                private int depth = pushLeft(root, 0);
+
+                private int pushLeft(Node node, int top) {
+                    while (node != null) {
+                        stack[top++] = node;
+                        node = node.left;
+                    }
+                    return top;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return depth > 0;
+                }
+
+                @Override
+                public Student next() {
+                    if (depth == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    Node node = stack[--depth];
+                    depth = pushLeft(node.right, depth);
+                    return node.student;
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<Student> spliterator() {
+            return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                    | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+        public Stream<Student> stream() {
+            return StreamSupport.stream(spliterator(), false);
+        }
+    }
+
+    private volatile Snapshot current = new Snapshot(null, 0);
+
+    // Latest published version - O(1), safe from any thread
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    // Insert or replace student - O(log n) copied nodes
+    public synchronized void insert(Student student) {
+        Snapshot base = current;
+        boolean[] added = new boolean[1];
+        Node root = insert(base.root, student, added);
+        current = new Snapshot(root, added[0] ? base.size + 1 : base.size);
+    }
+
+    // Delete student - O(log n) copied nodes
+    public synchronized boolean delete(String studentId) {
+        Snapshot base = current;
+        if (find(base.root, studentId) == null) {
+            return false;
+        }
+        current = new Snapshot(delete(base.root, studentId), base.size - 1);
+        return true;
+    }
+
+    public Student search(String studentId) {
+        return current.search(studentId);
+    }
+
+    public int getSize() {
+        return current.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static Node find(Node node, String studentId) {
+        while (node != null) {
+            int comparison = studentId.compareTo(node.student.getStudentId());
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static Node insert(Node node, Student student, boolean[] added) {
+        if (node == null) {
+            added[0] = true;
+            return new Node(student, null, null);
+        }
+
+        int comparison = student.getStudentId().compareTo(node.student.getStudentId());
+        if (comparison < 0) {
+            return balance(node.student, insert(node.left, student, added), node.right);
+        } else if (comparison > 0) {
+            return balance(node.student, node.left, insert(node.right, student, added));
+        }
+        return new Node(student, node.left, node.right);
+    }
+
+    private static Node delete(Node node, String studentId) {
+        int comparison = studentId.compareTo(node.student.getStudentId());
+        if (comparison < 0) {
+            return balance(node.student, delete(node.left, studentId), node.right);
+        } else if (comparison > 0) {
+            return balance(node.student, node.left, delete(node.right, studentId));
+        }
+
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.student, node.left,
+            delete(node.right, successor.student.getStudentId()));
+    }
+
+    // Build a node from fresh children, rotating if they differ in height by 2
+    private static Node balance(Student student, Node left, Node right) {
+        int difference = height(left) - height(right);
+
+        if (difference > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.student, left.left, new Node(student, left.right, right));
+            }
+            Node pivot = left.right;
+            return new Node(pivot.student,
+                new Node(left.student, left.left, pivot.left),
+                new Node(student, pivot.right, right));
+        }
+
+        if (difference < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.student, new Node(student, left, right.left), right.right);
+            }
+            Node pivot = right.left;
+            return new Node(pivot.student,
+                new Node(student, left, pivot.left),
+                new Node(right.student, pivot.right, right.right));
+        }
+
+        return new Node(student, left, right);
+    }
+}
@@ -2,129 +2,385 @@ package datastructures;
 
 import models.Student;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class StudentHashTable {
-    private class Entry {
-        String key;
-        Student value;
-        
-        Entry(String key, Student value) {
-            this.key = key;
-            this.value = value;
-        }
-    }
-    
-    private LinkedList<Entry>[] table;
-    private int size;
+// Open-addressing hash table using Robin Hood probing over flat arrays.
+// Growing the table is incremental: the old arrays are kept alongside the new
+// ones and a few slots are migrated on every write, so no single put pays for
+// rehashing the whole table.
+//
+// Iterators, spliterators and streams read the slot arrays directly and are
+// fail-fast; they see the current table followed by the undrained old one.
+public class StudentHashTable implements Iterable<Student> {
     private static final int INITIAL_CAPACITY = 16;
     private static final double LOAD_FACTOR = 0.75;
-    
-    @SuppressWarnings("unchecked")
+    private static final int MIGRATION_STEP = 8;
+    private static final int EMPTY = 0;
+
+    // Current table; hashes[i] == EMPTY marks a free slot
+    private String[] keys;
+    private Student[] values;
+    private int[] hashes;
+    private int mask;
+    private int threshold;
+
+    // Table being drained while a resize is in progress, otherwise null.
+    // Migrated or removed slots keep their hash but lose their key, so the
+    // probe distances of the remaining entries stay valid.
+    private String[] oldKeys;
+    private Student[] oldValues;
+    private int[] oldHashes;
+    private int migrateIndex;
+
+    private int size;
+    private int modCount;
+
     public StudentHashTable() {
-        table = new LinkedList[INITIAL_CAPACITY];
+        allocate(INITIAL_CAPACITY);
         size = 0;
-        for (int i = 0; i < INITIAL_CAPACITY; i++) {
-            table[i] = new LinkedList<>();
-        }
     }
-    
-    // Hash function
-    private int hash(String key) {
-        return Math.abs(key.hashCode()) % table.length;
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new Student[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Hash function - spreads the String hash and reserves 0 for empty slots
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private static int probeDistance(int hash, int slot, int mask) {
+        return (slot - (hash & mask)) & mask;
     }
-    
-    // Put student - O(1) average
+
+    // Put student - O(1) average, O(1) amortized per resize step
     public void put(String studentId, Student student) {
-        if ((double) size / table.length >= LOAD_FACTOR) {
-            resize();
-        }
-        
-        int index = hash(studentId);
-        LinkedList<Entry> bucket = table[index];
-        
-        // Update if key exists
-        for (Entry entry : bucket) {
-            if (entry.key.equals(studentId)) {
-                entry.value = student;
-                return;
+        modCount++;
+        migrateStep();
+
+        int h = hash(studentId);
+        int slot = findSlot(keys, hashes, mask, studentId, h);
+        if (slot >= 0) {
+            values[slot] = student;
+            return;
+        }
+
+        // A key still waiting in the old table moves to the new one
+        if (oldKeys != null) {
+            int oldSlot = findSlot(oldKeys, oldHashes, oldHashes.length - 1, studentId, h);
+            if (oldSlot >= 0) {
+                oldKeys[oldSlot] = null;
+                oldValues[oldSlot] = null;
+                size--;
             }
         }
-        
-        // Add new entry
-        bucket.add(new Entry(studentId, student));
+
+        if (size >= threshold) {
+            startResize();
+        }
+
+        insertAbsent(studentId, student, h);
         size++;
     }
-    
-    // Get student - O(1) average
+
+    // Get student - O(1) average, no allocation
     public Student get(String studentId) {
-        int index = hash(studentId);
-        LinkedList<Entry> bucket = table[index];
-        
-        for (Entry entry : bucket) {
-            if (entry.key.equals(studentId)) {
-                return entry.value;
+        int h = hash(studentId);
+        int slot = findSlot(keys, hashes, mask, studentId, h);
+        if (slot >= 0) {
+            return values[slot];
+        }
+
+        if (oldKeys != null) {
+            slot = findSlot(oldKeys, oldHashes, oldHashes.length - 1, studentId, h);
+            if (slot >= 0) {
+                return oldValues[slot];
             }
         }
-        
+
         return null;
     }
-    
+
     // Remove student - O(1) average
     public boolean remove(String studentId) {
-        int index = hash(studentId);
-        LinkedList<Entry> bucket = table[index];
-        
-        for (Entry entry : bucket) {
-            if (entry.key.equals(studentId)) {
-                bucket.remove(entry);
+        modCount++;
+        migrateStep();
+
+        int h = hash(studentId);
+        int slot = findSlot(keys, hashes, mask, studentId, h);
+        if (slot >= 0) {
+            deleteAt(slot);
+            size--;
+            return true;
+        }
+
+        if (oldKeys != null) {
+            slot = findSlot(oldKeys, oldHashes, oldHashes.length - 1, studentId, h);
+            if (slot >= 0) {
+                oldKeys[slot] = null;
+                oldValues[slot] = null;
                 size--;
                 return true;
             }
         }
-        
+
         return false;
     }
-    
+
     // Check if contains student
     public boolean contains(String studentId) {
         return get(studentId) != null;
     }
-    
+
     // Get all students
     public List<Student> getAllStudents() {
-        List<Student> students = new ArrayList<>();
-        for (LinkedList<Entry> bucket : table) {
-            for (Entry entry : bucket) {
-                students.add(entry.value);
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (hashes[i] != EMPTY) {
+                students.add(values[i]);
+            }
+        }
+
+        if (oldKeys != null) {
+            for (int i = migrateIndex; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    students.add(oldValues[i]);
+                }
             }
         }
         return students;
     }
-    
-    @SuppressWarnings("unchecked")
-    private void resize() {
-        LinkedList<Entry>[] oldTable = table;
-        table = new LinkedList[oldTable.length * 2];
-        size = 0;
-        
-        for (int i = 0; i < table.length; i++) {
-            table[i] = new LinkedList<>();
-        }
-        
-        for (LinkedList<Entry> bucket : oldTable) {
-            for (Entry entry : bucket) {
-                put(entry.key, entry.value);
+
+    // Robin Hood lookup: stop at an empty slot or at an entry that sits closer
+    // to its home slot than we would, since the key cannot be further along
+    private static int findSlot(String[] keys, int[] hashes, int mask, String key, int h) {
+        int slot = h & mask;
+        int distance = 0;
+
+        while (true) {
+            int slotHash = hashes[slot];
+            if (slotHash == EMPTY || probeDistance(slotHash, slot, mask) < distance) {
+                return -1;
+            }
+            if (slotHash == h) {
+                String slotKey = keys[slot];
+                if (slotKey != null && (slotKey == key || slotKey.equals(key))) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+    }
+
+    // Insert a key known to be absent, displacing entries that are closer to home
+    private void insertAbsent(String key, Student value, int h) {
+        int slot = h & mask;
+        int distance = 0;
+
+        while (hashes[slot] != EMPTY) {
+            int slotDistance = probeDistance(hashes[slot], slot, mask);
+            if (slotDistance < distance) {
+                String displacedKey = keys[slot];
+                Student displacedValue = values[slot];
+                int displacedHash = hashes[slot];
+
+                keys[slot] = key;
+                values[slot] = value;
+                hashes[slot] = h;
+
+                key = displacedKey;
+                value = displacedValue;
+                h = displacedHash;
+                distance = slotDistance;
             }
+            slot = (slot + 1) & mask;
+            distance++;
         }
+
+        keys[slot] = key;
+        values[slot] = value;
+        hashes[slot] = h;
+    }
+
+    // Backward-shift deletion keeps the table free of tombstones
+    private void deleteAt(int slot) {
+        int next = (slot + 1) & mask;
+
+        while (hashes[next] != EMPTY && probeDistance(hashes[next], next, mask) > 0) {
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            hashes[slot] = hashes[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+
+        keys[slot] = null;
+        values[slot] = null;
+        hashes[slot] = EMPTY;
+    }
+
+    private void startResize() {
+        // Should not happen with the default step size, but never keep two
+        // generations of old tables around
+        while (oldKeys != null) {
+            migrateStep();
+        }
+
+        oldKeys = keys;
+        oldValues = values;
+        oldHashes = hashes;
+        migrateIndex = 0;
+        allocate(keys.length * 2);
+    }
+
+    // Move the next few live entries of the old table into the current one
+    private void migrateStep() {
+        if (oldKeys == null) {
+            return;
+        }
+
+        int end = Math.min(migrateIndex + MIGRATION_STEP, oldKeys.length);
+        for (int i = migrateIndex; i < end; i++) {
+            if (oldKeys[i] != null) {
+                insertAbsent(oldKeys[i], oldValues[i], oldHashes[i]);
+                oldKeys[i] = null;
+                oldValues[i] = null;
+            }
+        }
+        migrateIndex = end;
+
+        if (migrateIndex == oldKeys.length) {
+            oldKeys = null;
+            oldValues = null;
+            oldHashes = null;
+        }
+    }
+
+    @Override
+    public Iterator<Student> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    // Splits by slot range, so parallel streams need no copying
+    @Override
+    public Spliterator<Student> spliterator() {
+        int oldLength = oldKeys != null ? oldKeys.length : 0;
+        return new SlotSpliterator(0, keys.length + oldLength, size, modCount);
+    }
+
+    public Stream<Student> stream() {
+        return StreamSupport.stream(spliterator(), false);
     }
-    
+
+    public Stream<Student> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // Walks the virtual slot range [origin, fence): indexes below the current
+    // capacity address the current table, the rest address the old table
+    private class SlotSpliterator implements Spliterator<Student> {
+        private final String[] tableKeys = keys;
+        private final Student[] tableValues = values;
+        private final String[] drainingKeys = oldKeys;
+        private final Student[] drainingValues = oldValues;
+        private final int expectedModCount;
+        private int index;
+        private final int fence;
+        private int estimate;
+        private final boolean exact;
+
+        SlotSpliterator(int origin, int fence, int estimate, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expectedModCount = expectedModCount;
+            this.exact = origin == 0 && estimate == size
+                && fence == keys.length + (oldKeys != null ? oldKeys.length : 0);
+        }
+
+        @Override
+        public Spliterator<Student> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            estimate >>>= 1;
+            SlotSpliterator prefix = new SlotSpliterator(index, mid, estimate, expectedModCount);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Student> action) {
+            while (index < fence) {
+                int i = index++;
+                String[] slotKeys = tableKeys;
+                Student[] slotValues = tableValues;
+                if (i >= tableKeys.length) {
+                    i -= tableKeys.length;
+                    slotKeys = drainingKeys;
+                    slotValues = drainingValues;
+                }
+                if (slotKeys[i] != null) {
+                    action.accept(slotValues[i]);
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Student> action) {
+            int end = Math.min(fence, tableKeys.length);
+            for (; index < end; index++) {
+                if (tableKeys[index] != null) {
+                    action.accept(tableValues[index]);
+                }
+            }
+            for (; index < fence; index++) {
+                int i = index - tableKeys.length;
+                if (drainingKeys[i] != null) {
+                    action.accept(drainingValues[i]);
+                }
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return exact ? Spliterator.SIZED : 0;
+        }
+    }
+
     public int getSize() {
         return size;
     }
-    
+
     public boolean isEmpty() {
         return size == 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,208 @@
+package datastructures;
+
+import models.Student;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Trigram inverted index over student ID, name and department for substring
+// search. Each field is lower-cased once when the student is indexed; a query
+// takes the rarest of its trigrams and only verifies the students in that
+// posting list, so nothing is allocated per candidate and most of the table is
+// never touched. Queries shorter than three characters fall back to scanning
+// the pre-normalized fields.
+public class TrigramIndex {
+    public static final int FIELD_ID = 1;
+    public static final int FIELD_NAME = 2;
+    public static final int FIELD_DEPARTMENT = 4;
+    public static final int ALL_FIELDS = FIELD_ID | FIELD_NAME | FIELD_DEPARTMENT;
+
+    private static final int FIELD_COUNT = 3;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Unordered list of document numbers containing one trigram
+    private static class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    docs[i] = docs[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Map<Long, Postings> postings;
+    private final Map<String, Integer> docOf;
+
+    // Per document: the student and its normalized fields (null when free)
+    private Student[] students;
+    private String[][] fields;
+    private int[] seen;
+    private int docCount;
+    private int[] freeDocs;
+    private int freeCount;
+    private int queryStamp;
+
+    public TrigramIndex() {
+        postings = new HashMap<>();
+        docOf = new HashMap<>();
+        students = new Student[INITIAL_CAPACITY];
+        fields = new String[INITIAL_CAPACITY][];
+        seen = new int[INITIAL_CAPACITY];
+        freeDocs = new int[INITIAL_CAPACITY];
+    }
+
+    // Index a student, replacing any previous entry with the same ID
+    public synchronized void add(Student student) {
+        remove(student.getStudentId());
+
+        int doc = freeCount > 0 ? freeDocs[--freeCount] : nextDoc();
+        String[] normalized = {
+            normalize(student.getStudentId()),
+            normalize(student.getName()),
+            normalize(student.getDepartment())
+        };
+        students[doc] = student;
+        fields[doc] = normalized;
+        docOf.put(student.getStudentId(), doc);
+
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            for (long key : trigramsOf(field, normalized[field])) {
+                postings.computeIfAbsent(key, k -> new Postings()).add(doc);
+            }
+        }
+    }
+
+    // Drop a student from the index using the fields it was indexed with
+    public synchronized boolean remove(String studentId) {
+        Integer doc = docOf.remove(studentId);
+        if (doc == null) {
+            return false;
+        }
+
+        String[] normalized = fields[doc];
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            for (long key : trigramsOf(field, normalized[field])) {
+                Postings list = postings.get(key);
+                list.remove(doc);
+                if (list.size == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+
+        students[doc] = null;
+        fields[doc] = null;
+        if (freeCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeCount * 2);
+        }
+        freeDocs[freeCount++] = doc;
+        return true;
+    }
+
+    // Students whose selected fields contain the text (case-insensitive),
+    // in student ID order
+    public synchronized List<Student> search(String text, int fieldMask) {
+        String query = normalize(text);
+        List<Student> results = new ArrayList<>();
+        int stamp = ++queryStamp;
+
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            if ((fieldMask & (1 << field)) == 0) {
+                continue;
+            }
+
+            if (query.length() < 3) {
+                for (int doc = 0; doc < docCount; doc++) {
+                    collect(doc, field, query, stamp, results);
+                }
+                continue;
+            }
+
+            Postings rarest = rarestPostings(field, query);
+            if (rarest != null) {
+                for (int i = 0; i < rarest.size; i++) {
+                    collect(rarest.docs[i], field, query, stamp, results);
+                }
+            }
+        }
+
+        results.sort((a, b) -> a.getStudentId().compareTo(b.getStudentId()));
+        return results;
+    }
+
+    public synchronized int getSize() {
+        return docOf.size();
+    }
+
+    // Verify a candidate against the full query and record it once per search
+    private void collect(int doc, int field, String query, int stamp, List<Student> results) {
+        String[] normalized = fields[doc];
+        if (normalized != null && seen[doc] != stamp && normalized[field].contains(query)) {
+            seen[doc] = stamp;
+            results.add(students[doc]);
+        }
+    }
+
+    // Shortest posting list among the query's trigrams, or null if any
+    // trigram is missing (then nothing in this field can match)
+    private Postings rarestPostings(int field, String query) {
+        Postings rarest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Postings list = postings.get(trigramKey(field, query, i));
+            if (list == null) {
+                return null;
+            }
+            if (rarest == null || list.size < rarest.size) {
+                rarest = list;
+            }
+        }
+        return rarest;
+    }
+
+    private int nextDoc() {
+        if (docCount == students.length) {
+            int capacity = docCount * 2;
+            students = Arrays.copyOf(students, capacity);
+            fields = Arrays.copyOf(fields, capacity);
+            seen = Arrays.copyOf(seen, capacity);
+        }
+        return docCount++;
+    }
+
+    private static Set<Long> trigramsOf(int field, String text) {
+        Set<Long> keys = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            keys.add(trigramKey(field, text, i));
+        }
+        return keys;
+    }
+
+    // Field number in the top bits, then three UTF-16 code units
+    private static long trigramKey(int field, String text, int offset) {
+        return ((long) field << 48)
+            | ((long) text.charAt(offset) << 32)
+            | ((long) text.charAt(offset + 1) << 16)
+            | text.charAt(offset + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,119 @@
+package datastructures;
+
+import models.Student;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// Unique hash index over one student attribute (e.g. email or phone).
+// Values are normalized before use, so "A@X.com" and "a@x.com " collide.
+// Blank values are not indexed and never conflict. The index remembers the
+// key each student was stored under, so it stays correct even when the
+// Student object is edited in place before it is re-indexed.
+//
+// Data loaded from a file may already hold a value twice. Such students are
+// queued behind the first holder of the key instead of being dropped, and
+// the next one in line takes the value over when the holder is removed, so
+// the value never looks free while someone still uses it.
+public class UniqueStudentIndex {
+    private final Function<Student, String> attribute;
+    private final UnaryOperator<String> normalizer;
+    // Holders of each key; the first one owns it
+    private final Map<String, List<Student>> holdersByKey;
+    private final Map<String, String> keyByStudentId;
+
+    public UniqueStudentIndex(Function<Student, String> attribute, UnaryOperator<String> normalizer) {
+        this.attribute = attribute;
+        this.normalizer = normalizer;
+        this.holdersByKey = new HashMap<>();
+        this.keyByStudentId = new HashMap<>();
+    }
+
+    // Find the student owning a value - O(1)
+    public Student find(String value) {
+        String key = normalize(value);
+        if (key == null) {
+            return null;
+        }
+        List<Student> holders = holdersByKey.get(key);
+        return holders == null ? null : holders.get(0);
+    }
+
+    // True if the value is blank, unused, or already held by this student
+    public boolean isAvailable(String value, String studentId) {
+        return isKeyAvailable(normalize(value), studentId);
+    }
+
+    // Index or re-index a student; false (and no change) if another student
+    // already holds the value - O(1)
+    public boolean put(Student student) {
+        String key = normalize(attribute.apply(student));
+        if (!isKeyAvailable(key, student.getStudentId())) {
+            return false;
+        }
+        add(student, key);
+        return true;
+    }
+
+    // Index a student even if the value is taken, queueing it behind the
+    // current owner; returns that owner, or null if the value was free - O(1)
+    // plus the length of the queue
+    public Student putShared(Student student) {
+        String key = normalize(attribute.apply(student));
+        Student owner = null;
+        if (key != null && holdersByKey.containsKey(key)) {
+            Student first = holdersByKey.get(key).get(0);
+            owner = first.getStudentId().equals(student.getStudentId()) ? null : first;
+        }
+        add(student, key);
+        return owner;
+    }
+
+    // Drop a student; the next holder of its value, if any, takes it over
+    public void remove(String studentId) {
+        String key = keyByStudentId.remove(studentId);
+        if (key == null) {
+            return;
+        }
+        List<Student> holders = holdersByKey.get(key);
+        holders.removeIf(holder -> holder.getStudentId().equals(studentId));
+        if (holders.isEmpty()) {
+            holdersByKey.remove(key);
+        }
+    }
+
+    private boolean isKeyAvailable(String key, String studentId) {
+        return key == null || !holdersByKey.containsKey(key) || key.equals(keyByStudentId.get(studentId));
+    }
+
+    // Store the student under the key, keeping its place in line if it
+    // already holds that key
+    private void add(Student student, String key) {
+        String studentId = student.getStudentId();
+        if (key != null && key.equals(keyByStudentId.get(studentId))) {
+            List<Student> holders = holdersByKey.get(key);
+            for (int i = 0; i < holders.size(); i++) {
+                if (holders.get(i).getStudentId().equals(studentId)) {
+                    holders.set(i, student);
+                }
+            }
+            return;
+        }
+        remove(studentId);
+        if (key != null) {
+            holdersByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(student);
+            keyByStudentId.put(studentId, key);
+        }
+    }
+
+    private String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = normalizer.apply(value);
+        return key.isEmpty() ? null : key;
+    }
+}
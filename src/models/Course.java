@@ -2,7 +2,10 @@ package models;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 public class Course implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -13,6 +16,10 @@ public class Course implements Serializable {
     private String department;
     private List<String> prerequisites;
     
+    // Students whose cached GPA counts this course's credits; told to drop
+    // it when the credits change. Weak, so deleted students can be collected.
+    private transient Set<Student> creditHolders;
+    
     public Course(String courseCode, String courseName, int credits, String department) {
         this.courseCode = courseCode;
         this.courseName = courseName;
@@ -29,7 +36,29 @@ public class Course implements Serializable {
     public void setCourseName(String courseName) { this.courseName = courseName; }
     
     public int getCredits() { return credits; }
-    public void setCredits(int credits) { this.credits = credits; }
+    // For courses students hold results in use StudentService.updateCourseCredits,
+    // which also re-ranks those students by GPA
+    public void setCredits(int credits) {
+        List<Student> holders;
+        synchronized (this) {
+            if (this.credits == credits) {
+                return;
+            }
+            this.credits = credits;
+            holders = creditHolders == null ? Collections.emptyList() : new ArrayList<>(creditHolders);
+        }
+        for (Student student : holders) {
+            student.invalidateGPA();
+        }
+    }
+    
+    // Called by Student before it caches a GPA that uses these credits
+    synchronized void addCreditHolder(Student student) {
+        if (creditHolders == null) {
+            creditHolders = Collections.newSetFromMap(new WeakHashMap<>());
+        }
+        creditHolders.add(student);
+    }
     
     public String getDepartment() { return department; }
     public void setDepartment(String department) { this.department = department; }
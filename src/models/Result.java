@@ -60,12 +60,23 @@ public class Result implements Serializable {
     public void setStudent(Student student) { this.student = student; }
     
     public Course getCourse() { return course; }
-    public void setCourse(Course course) { this.course = course; }
+    public void setCourse(Course course) {
+        this.course = course;
+        if (student != null) {
+            student.invalidateGPA();
+        }
+    }
     
     public double getMarks() { return marks; }
+    // For a student held by StudentService use updateResultMarks, which also
+    // moves the student in the GPA ranking
     public void setMarks(double marks) { 
+        double oldGradePoint = gradePoint;
         this.marks = marks;
         calculateGrade();
+        if (student != null && gradePoint != oldGradePoint) {
+            student.resultGradeChanged(this, oldGradePoint);
+        }
     }
     
     public String getGrade() { return grade; }
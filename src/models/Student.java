@@ -2,6 +2,7 @@ package models;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Student implements Comparable<Student>, Serializable {
@@ -13,7 +14,32 @@ public class Student implements Comparable<Student>, Serializable {
     private String phone;
     private String department;
     private int semester;
-    private List<Result> results;
+    // Copy-on-write: every change publishes a new list and the old one is
+    // never modified, so a reader holding a list (e.g. from a snapshot
+    // report) sees one consistent version without locking
+    private volatile List<Result> results;
+    
+    // Running GPA sums for one version of the results list. Grade points are
+    // multiples of 0.1, so they are summed exactly as tenths. Transient:
+    // rebuilt on first use after loading.
+    private static final class GpaTotals {
+        final List<Result> results;
+        final long weightedGradeTenths;
+        final int totalCredits;
+        final int epoch;
+        
+        GpaTotals(List<Result> results, long weightedGradeTenths, int totalCredits, int epoch) {
+            this.results = results;
+            this.weightedGradeTenths = weightedGradeTenths;
+            this.totalCredits = totalCredits;
+            this.epoch = epoch;
+        }
+    }
+    
+    private transient volatile GpaTotals totals;
+    // Bumped by invalidateGPA (e.g. when a course's credits change), so sums
+    // computed while an invalidation was happening are never taken as current
+    private transient volatile int gpaEpoch;
     
     public Student(String studentId, String name, String email, String phone, String department, int semester) {
         this.studentId = studentId;
@@ -23,6 +49,7 @@ public class Student implements Comparable<Student>, Serializable {
         this.department = department;
         this.semester = semester;
         this.results = new ArrayList<>();
+        this.totals = new GpaTotals(results, 0, 0, 0);
     }
     
     // Getters and Setters
@@ -44,24 +71,90 @@ public class Student implements Comparable<Student>, Serializable {
     public int getSemester() { return semester; }
     public void setSemester(int semester) { this.semester = semester; }
     
-    public List<Result> getResults() { return results; }
-    public void setResults(List<Result> results) { this.results = results; }
+    // Read-only view of the current version of the results
+    public List<Result> getResults() { return Collections.unmodifiableList(results); }
+    public synchronized void setResults(List<Result> results) {
+        this.results = new ArrayList<>(results);
+        invalidateGPA();
+    }
     
-    public void addResult(Result result) {
-        this.results.add(result);
+    // Add result - O(r) to copy the list, O(1) for the GPA: the result is
+    // folded into the running sums of the version it extends
+    public synchronized void addResult(Result result) {
+        List<Result> previous = results;
+        List<Result> next = new ArrayList<>(previous.size() + 1);
+        next.addAll(previous);
+        next.add(result);
+        result.getCourse().addCreditHolder(this);
+        GpaTotals current = totals;
+        results = next;
+        
+        if (isCurrent(current, previous, gpaEpoch)) {
+            int credits = result.getCourse().getCredits();
+            totals = new GpaTotals(next,
+                current.weightedGradeTenths + gradeTenths(result.getGradePoint()) * credits,
+                current.totalCredits + credits, current.epoch);
+        } else {
+            totals = null;
+        }
+    }
+    
+    // Called by Result when its marks change; applies the grade point delta
+    synchronized void resultGradeChanged(Result result, double oldGradePoint) {
+        List<Result> list = results;
+        GpaTotals current = totals;
+        if (isCurrent(current, list, gpaEpoch) && list.contains(result)) {
+            long delta = (gradeTenths(result.getGradePoint()) - gradeTenths(oldGradePoint))
+                * result.getCourse().getCredits();
+            totals = new GpaTotals(list, current.weightedGradeTenths + delta,
+                current.totalCredits, current.epoch);
+        } else {
+            invalidateGPA();
+        }
     }
     
+    // Force the next GPA read to recompute from the results list
+    public synchronized void invalidateGPA() {
+        gpaEpoch++;
+        totals = null;
+    }
+    
+    // GPA - O(1) when nothing changed since the last read. Falls back to a
+    // full pass over the current list after a course credit change or an
+    // invalidation.
     public double calculateGPA() {
-        if (results.isEmpty()) return 0.0;
-        double totalGradePoints = 0;
-        int totalCredits = 0;
-        
-        for (Result result : results) {
-            totalGradePoints += result.getGradePoint() * result.getCourse().getCredits();
-            totalCredits += result.getCourse().getCredits();
+        int epoch = gpaEpoch;
+        List<Result> list = results;
+        GpaTotals current = totals;
+        if (!isCurrent(current, list, epoch)) {
+            current = recalculateGPA(list, epoch);
+            totals = current;
         }
+        return current.totalCredits > 0 ? current.weightedGradeTenths / (10.0 * current.totalCredits) : 0.0;
+    }
+    
+    private static boolean isCurrent(GpaTotals totals, List<Result> list, int epoch) {
+        return totals != null
+            && totals.results == list
+            && totals.epoch == epoch;
+    }
+    
+    // Full pass; also makes sure every course will report credit changes
+    private GpaTotals recalculateGPA(List<Result> list, int epoch) {
+        long tenths = 0;
+        int credits = 0;
         
-        return totalCredits > 0 ? totalGradePoints / totalCredits : 0.0;
+        for (Result result : list) {
+            result.getCourse().addCreditHolder(this);
+            int courseCredits = result.getCourse().getCredits();
+            tenths += gradeTenths(result.getGradePoint()) * courseCredits;
+            credits += courseCredits;
+        }
+        return new GpaTotals(list, tenths, credits, epoch);
+    }
+    
+    private static long gradeTenths(double gradePoint) {
+        return Math.round(gradePoint * 10);
     }
     
     @Override
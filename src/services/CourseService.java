@@ -1,15 +1,50 @@
 package services;
 
 import models.Course;
-import algorithms.GraphAlgorithms;
+import models.Result;
+import models.Student;
+import algorithms.CompiledPrerequisiteGraph;
+import algorithms.OnlineTopologicalOrder;
+import algorithms.ReachabilityIndex;
+import algorithms.SemesterPlanner;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CourseService {
     private Map<String, Course> courses;
     
+    // Bumped by addCourse, addPrerequisite and deleteCourse. Prerequisites of
+    // catalogue courses must only change through this service, so the
+    // version covers every edit of the graph; Course objects built elsewhere
+    // (file loading, the UI) never touch it.
+    private long catalogueVersion;
+    
+    // Compiled prerequisite graph, rebuilt on first use after the catalogue
+    // changes
+    private CompiledPrerequisiteGraph compiledGraph;
+    private SemesterPlanner planner;
+    private long compiledCatalogueVersion = -1;
+    
+    // Transitive-closure index, kept up to date in place by addCourse and
+    // addPrerequisite; null after a deletion and rebuilt on first use
+    private ReachabilityIndex reachability;
+    
+    // Online topological order used to reject circular prerequisites as
+    // they are added; maintained like the reachability index. While the
+    // catalogue has a cycle it stays in place with isAcyclic() false, so
+    // links are checked by path search without rebuilding it; only a
+    // deletion, which may break the cycle, drops it.
+    private OnlineTopologicalOrder topologicalOrder;
+    
     public CourseService() {
         this.courses = new HashMap<>();
         initializeSampleCourses();
@@ -35,12 +70,130 @@ public class CourseService {
         courses.put(network.getCourseCode(), network);
     }
     
-    public boolean addCourse(Course course) {
-        if (!courses.containsKey(course.getCourseCode())) {
-            courses.put(course.getCourseCode(), course);
-            return true;
+    // Add a course unless its prerequisites close a cycle, which can happen
+    // when existing courses already list its code as a prerequisite. Returns
+    // an empty list once the course is in the catalogue, or the cycle it
+    // would close (course first and last, each entry requiring the next) with
+    // nothing changed; null if the code is taken. Its links are checked and
+    // entered into the topological order and the reachability index in place.
+    public synchronized List<String> addCourse(Course course) {
+        String courseCode = course.getCourseCode();
+        if (courses.containsKey(courseCode)) {
+            return null;
         }
-        return false;
+        List<String> cycle = orderNewCourse(course);
+        if (!cycle.isEmpty()) {
+            return cycle;
+        }
+        
+        courses.put(courseCode, course);
+        catalogueVersion++;
+        if (reachability != null) {
+            for (String prerequisite : course.getPrerequisites()) {
+                reachability.addPrerequisite(courseCode, prerequisite);
+            }
+        }
+        return Collections.emptyList();
+    }
+    
+    // Enter a new course's links into the topological order, or return the
+    // first cycle one of them closes and leave the order as it was
+    private List<String> orderNewCourse(Course course) {
+        String courseCode = course.getCourseCode();
+        if (topologicalOrder == null) {
+            topologicalOrder = new OnlineTopologicalOrder(courses);
+        }
+        if (topologicalOrder.isAcyclic()) {
+            for (String prerequisite : course.getPrerequisites()) {
+                List<String> cycle = topologicalOrder.addPrerequisite(courseCode, prerequisite);
+                if (!cycle.isEmpty()) {
+                    topologicalOrder.removeCourse(courseCode);
+                    return cycle;
+                }
+            }
+            return Collections.emptyList();
+        }
+        
+        // The catalogue already has a cycle; a new one through this course
+        // needs a path from one of its prerequisites back to it
+        for (String prerequisite : course.getPrerequisites()) {
+            List<String> cycle = cycleThrough(courseCode, prerequisite);
+            if (!cycle.isEmpty()) {
+                return cycle;
+            }
+        }
+        return Collections.emptyList();
+    }
+    
+    // Add a direct prerequisite unless it would make the prerequisites
+    // circular. Returns an empty list once the link is in place, or the cycle
+    // it would close (course first and last, each entry requiring the next)
+    // with nothing changed; null if the course is unknown. Checked online,
+    // in time proportional to the part of the order the link disturbs.
+    public synchronized List<String> addPrerequisite(String courseCode, String prerequisiteCode) {
+        Course course = courses.get(courseCode);
+        if (course == null) {
+            return null;
+        }
+        if (course.getPrerequisites().contains(prerequisiteCode)) {
+            return Collections.emptyList();
+        }
+        
+        List<String> cycle;
+        if (topologicalOrder == null) {
+            topologicalOrder = new OnlineTopologicalOrder(courses);
+        }
+        if (topologicalOrder.isAcyclic()) {
+            cycle = topologicalOrder.addPrerequisite(courseCode, prerequisiteCode);
+        } else {
+            // The catalogue already has a cycle, so there is no order to
+            // maintain; fall back to a path query for this link
+            cycle = cycleThrough(courseCode, prerequisiteCode);
+        }
+        if (!cycle.isEmpty()) {
+            return cycle;
+        }
+        
+        course.addPrerequisite(prerequisiteCode);
+        catalogueVersion++;
+        if (reachability != null) {
+            reachability.addPrerequisite(courseCode, prerequisiteCode);
+        }
+        return Collections.emptyList();
+    }
+    
+    // The cycle a link from courseCode to prerequisiteCode would close, found
+    // by a breadth-first search of the catalogue from the prerequisite back
+    // to the course; empty if there is none. Used while the catalogue is
+    // cyclic, and walks only what the prerequisite requires, so nothing is
+    // compiled or rebuilt for it.
+    private List<String> cycleThrough(String courseCode, String prerequisiteCode) {
+        Map<String, String> reachedFrom = new HashMap<>();
+        ArrayDeque<String> queue = new ArrayDeque<>();
+        reachedFrom.put(prerequisiteCode, null);
+        queue.add(prerequisiteCode);
+        while (!queue.isEmpty()) {
+            String code = queue.poll();
+            if (code.equals(courseCode)) {
+                List<String> cycle = new ArrayList<>();
+                for (String step = code; step != null; step = reachedFrom.get(step)) {
+                    cycle.add(step);
+                }
+                cycle.add(courseCode);
+                Collections.reverse(cycle);
+                return cycle;
+            }
+            Course course = courses.get(code);
+            if (course != null) {
+                for (String next : course.getPrerequisites()) {
+                    if (!reachedFrom.containsKey(next)) {
+                        reachedFrom.put(next, code);
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        return Collections.emptyList();
     }
     
     public Course getCourse(String courseCode) {
@@ -51,23 +204,130 @@ public class CourseService {
         return new java.util.ArrayList<>(courses.values());
     }
     
-    public boolean deleteCourse(String courseCode) {
-        return courses.remove(courseCode) != null;
+    // Change a catalogue course's credits; the planner picks them up on next
+    // use. Students' copies are updated by StudentService.updateCourseCredits.
+    public synchronized boolean updateCredits(String courseCode, int credits) {
+        Course course = courses.get(courseCode);
+        if (course == null) {
+            return false;
+        }
+        course.setCredits(credits);
+        planner = null;
+        return true;
+    }
+    
+    public synchronized boolean deleteCourse(String courseCode) {
+        Course removed = courses.remove(courseCode);
+        if (removed != null) {
+            catalogueVersion++;
+            // Chains through the course are gone; a course without
+            // prerequisites removes no edges, so the index still holds
+            if (!removed.getPrerequisites().isEmpty()) {
+                reachability = null;
+                if (topologicalOrder != null && topologicalOrder.isAcyclic()) {
+                    topologicalOrder.removeCourse(courseCode);
+                } else {
+                    topologicalOrder = null;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    // True if prerequisiteCode must be completed, directly or through a
+    // chain, before courseCode - O(1) after the index is built
+    public synchronized boolean isTransitivePrerequisite(String courseCode, String prerequisiteCode) {
+        if (reachability == null) {
+            reachability = new ReachabilityIndex(courses);
+        }
+        return reachability.isPrerequisite(courseCode, prerequisiteCode);
     }
     
-    // Find shortest prerequisite path using Dijkstra's algorithm
+    // Compiled graph for the current catalogue - O(1) unless something changed
+    public synchronized CompiledPrerequisiteGraph getPrerequisiteGraph() {
+        if (compiledGraph == null || compiledCatalogueVersion != catalogueVersion) {
+            compiledGraph = CompiledPrerequisiteGraph.compile(courses);
+            planner = null;
+            compiledCatalogueVersion = catalogueVersion;
+        }
+        return compiledGraph;
+    }
+    
+    // Planner over the current catalogue and credits
+    private synchronized SemesterPlanner getPlanner() {
+        CompiledPrerequisiteGraph graph = getPrerequisiteGraph();
+        if (planner == null) {
+            planner = new SemesterPlanner(graph, courses);
+        }
+        return planner;
+    }
+    
+    // Plan a student's remaining courses into semesters of at most creditCap
+    // credits, treating every course with a passing grade as done
+    public SemesterPlanner.Plan planSemesters(Student student, int creditCap) {
+        return getPlanner().plan(passedCourses(student), creditCap);
+    }
+    
+    // Plan every student at once; plans are computed in parallel over one
+    // shared planner. Keyed by student ID.
+    public Map<String, SemesterPlanner.Plan> planSemestersForAll(Collection<Student> students, int creditCap) {
+        SemesterPlanner shared = getPlanner();
+        Map<String, SemesterPlanner.Plan> plans = new ConcurrentHashMap<>();
+        students.parallelStream().forEach(student ->
+            plans.put(student.getStudentId(), shared.plan(passedCourses(student), creditCap)));
+        return plans;
+    }
+    
+    private static Set<String> passedCourses(Student student) {
+        Set<String> passed = new HashSet<>();
+        for (Result result : student.getResults()) {
+            if (result.getGradePoint() > 0) {
+                passed.add(result.getCourse().getCourseCode());
+            }
+        }
+        return passed;
+    }
+    
+    // Find shortest prerequisite path (BFS over the compiled graph)
     public List<String> findPrerequisitePath(String startCourse, String targetCourse) {
-        return GraphAlgorithms.findShortestPrerequisitePath(courses, startCourse, targetCourse);
+        return getPrerequisiteGraph().shortestPath(startCourse, targetCourse);
+    }
+    
+    // Shortest prerequisite paths for many {start, target} pairs at once, in
+    // the order of the pairs. Pairs are grouped by start course and each
+    // group is answered by one BFS, with the groups spread over all cores.
+    public List<List<String>> findPrerequisitePaths(List<String[]> pairs) {
+        Map<String, List<Integer>> bySource = new HashMap<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            bySource.computeIfAbsent(pairs.get(i)[0], source -> new ArrayList<>()).add(i);
+        }
+        
+        CompiledPrerequisiteGraph graph = getPrerequisiteGraph();
+        List<List<String>> paths = new ArrayList<>(Collections.nCopies(pairs.size(), (List<String>) null));
+        bySource.entrySet().parallelStream().forEach(group -> {
+            List<Integer> indexes = group.getValue();
+            List<String> targets = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                targets.add(pairs.get(index)[1]);
+            }
+            List<List<String>> found = graph.shortestPaths(group.getKey(), targets);
+            // Each index belongs to exactly one group, so the writes never overlap
+            for (int i = 0; i < indexes.size(); i++) {
+                paths.set(indexes.get(i), found.get(i));
+            }
+        });
+        return paths;
     }
     
     // Get all prerequisites using DFS
     public List<String> getAllPrerequisites(String courseCode) {
-        return GraphAlgorithms.dfsPrerequisiteTraversal(courses, courseCode);
+        return getPrerequisiteGraph().depthFirstOrder(courseCode);
     }
     
     // Check for circular prerequisites
     public boolean hasCircularDependencies() {
-        return GraphAlgorithms.hasCircularPrerequisites(courses);
+        return getPrerequisiteGraph().hasCycle();
     }
     
     public Map<String, Course> getCourseMap() {
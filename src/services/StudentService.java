@@ -1,94 +1,352 @@
 package services;
 
 import datastructures.BinarySearchTree;
-import datastructures.StudentHashTable;
+import datastructures.ConcurrentStudentHashTable;
+import datastructures.EytzingerIdIndex;
+import datastructures.GpaRankTree;
+import datastructures.PersistentStudentTree;
+import datastructures.TrigramIndex;
+import datastructures.UniqueStudentIndex;
 import models.Student;
 import models.Result;
+import algorithms.BKTree;
 import algorithms.SearchAlgorithms;
 import algorithms.SortingAlgorithms;
+import algorithms.StatisticsKernels;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class StudentService {
+    private static final Comparator<Student> LOWEST_GPA_FIRST =
+        Comparator.comparingDouble(Student::calculateGPA).thenComparing(Student::getStudentId);
+    
+    // Writers (add, update, delete, add result) are serialized on this
+    // service. The ID table, the snapshots and the text and name indexes are
+    // thread-safe, so lookups and reports through them run alongside a bulk
+    // import; the BST, GPA ranking and email/phone indexes are only touched
+    // while holding the service lock.
     private BinarySearchTree studentBST;
-    private StudentHashTable studentHashTable;
+    private ConcurrentStudentHashTable studentHashTable;
+    private PersistentStudentTree studentSnapshots;
+    private GpaRankTree gpaRanking;
+    private TrigramIndex textIndex;
+    private BKTree nameIndex;
+    private UniqueStudentIndex emailIndex;
+    private UniqueStudentIndex phoneIndex;
+    
+    // Read-optimized ID index, rebuilt from a snapshot on the first lookup
+    // after students are added, removed or replaced
+    private volatile EytzingerIdIndex idIndex;
     
     public StudentService() {
         this.studentBST = new BinarySearchTree();
-        this.studentHashTable = new StudentHashTable();
+        this.studentHashTable = new ConcurrentStudentHashTable();
+        this.studentSnapshots = new PersistentStudentTree();
+        this.gpaRanking = new GpaRankTree();
+        this.textIndex = new TrigramIndex();
+        this.nameIndex = new BKTree();
+        this.emailIndex = new UniqueStudentIndex(Student::getEmail, StudentService::normalizeEmail);
+        this.phoneIndex = new UniqueStudentIndex(Student::getPhone, StudentService::normalizePhone);
+    }
+    
+    // Emails compare case-insensitively, ignoring surrounding spaces
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    // Phone numbers compare on digits only (plus a leading '+')
+    private static String normalizePhone(String phone) {
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (Character.isDigit(c) || (c == '+' && digits.length() == 0)) {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
     }
     
     // Add student to both data structures
-    public boolean addStudent(Student student) {
+    // Rejected if another student already uses the same email or phone
+    public synchronized boolean addStudent(Student student) {
         try {
-            studentBST.insert(student);
-            studentHashTable.put(student.getStudentId(), student);
+            if (!isEmailAvailable(student.getEmail(), student.getStudentId()) ||
+                !isPhoneAvailable(student.getPhone(), student.getStudentId())) {
+                return false;
+            }
+            index(student);
+            emailIndex.put(student);
+            phoneIndex.put(student);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
     
+    // Outcome of loading saved students: how many were kept, and what was
+    // wrong with the rest
+    public static final class LoadReport {
+        private final int loaded;
+        private final List<String> dropped;
+        private final List<String> conflicts;
+        
+        LoadReport(int loaded, List<String> dropped, List<String> conflicts) {
+            this.loaded = loaded;
+            this.dropped = dropped;
+            this.conflicts = conflicts;
+        }
+        
+        public int getLoaded() { return loaded; }
+        // Rows that could not be kept (duplicate or missing ID)
+        public List<String> getDropped() { return dropped; }
+        // Rows kept although their email or phone is also used by another student
+        public List<String> getConflicts() { return conflicts; }
+    }
+    
+    // Load saved students - O(n log n). Unlike addStudent this keeps rows
+    // whose email or phone clashes with an earlier row, so existing data is
+    // never lost on load; the unique index queues the row behind the first
+    // holder of the value (who keeps it until deleted or changed) and the
+    // clash is reported, to be fixed through updateStudent. Only rows whose
+    // ID is missing or already taken are dropped.
+    public synchronized LoadReport loadStudents(List<Student> students) {
+        List<String> dropped = new ArrayList<>();
+        List<String> conflicts = new ArrayList<>();
+        int loaded = 0;
+        
+        for (Student student : students) {
+            String studentId = student.getStudentId();
+            if (studentId == null || studentId.trim().isEmpty()) {
+                dropped.add("Student '" + student.getName() + "' has no ID");
+                continue;
+            }
+            if (studentHashTable.contains(studentId)) {
+                dropped.add("Student ID " + studentId + " appears more than once");
+                continue;
+            }
+            index(student);
+            Student emailOwner = emailIndex.putShared(student);
+            Student phoneOwner = phoneIndex.putShared(student);
+            loaded++;
+            if (emailOwner != null) {
+                conflicts.add("Student " + studentId + " shares email " + student.getEmail()
+                    + " with " + emailOwner.getStudentId());
+            }
+            if (phoneOwner != null) {
+                conflicts.add("Student " + studentId + " shares phone " + student.getPhone()
+                    + " with " + phoneOwner.getStudentId());
+            }
+        }
+        return new LoadReport(loaded, dropped, conflicts);
+    }
+    
+    // Insert into every structure except the unique email/phone indexes
+    private void index(Student student) {
+        studentBST.insert(student);
+        studentHashTable.put(student.getStudentId(), student);
+        studentSnapshots.insert(student);
+        gpaRanking.put(student);
+        textIndex.add(student);
+        nameIndex.add(student);
+        idIndex = null;
+    }
+    
     // Search student by ID using hash table (O(1))
     public Student findStudentById(String studentId) {
         return studentHashTable.get(studentId);
     }
     
+    // Search student by ID through the Eytzinger index - O(log n) over a
+    // cache-resident key array; suits bursts of lookups such as result entry
+    public Student findStudentByIdIndexed(String studentId) {
+        EytzingerIdIndex index = idIndex;
+        if (index == null) {
+            index = rebuildIdIndex();
+        }
+        return index.find(studentId);
+    }
+    
+    // Built under the service lock, so no writer can drop the index between
+    // taking the snapshot and publishing an index built from it
+    private synchronized EytzingerIdIndex rebuildIdIndex() {
+        EytzingerIdIndex index = idIndex;
+        if (index == null) {
+            index = new EytzingerIdIndex(snapshot());
+            idIndex = index;
+        }
+        return index;
+    }
+    
+    // Search student by email using the unique email index (O(1))
+    public synchronized Student findStudentByEmail(String email) {
+        return emailIndex.find(email);
+    }
+    
+    // Search student by phone using the unique phone index (O(1))
+    public synchronized Student findStudentByPhone(String phone) {
+        return phoneIndex.find(phone);
+    }
+    
+    // True if no other student uses this email
+    public synchronized boolean isEmailAvailable(String email, String studentId) {
+        return emailIndex.isAvailable(email, studentId);
+    }
+    
+    // True if no other student uses this phone number
+    public synchronized boolean isPhoneAvailable(String phone, String studentId) {
+        return phoneIndex.isAvailable(phone, studentId);
+    }
+    
     // Search student using BST
-    public Student findStudentByIdBST(String studentId) {
+    public synchronized Student findStudentByIdBST(String studentId) {
         return studentBST.search(studentId);
     }
     
     // Delete student
-    public boolean deleteStudent(String studentId) {
+    public synchronized boolean deleteStudent(String studentId) {
         boolean bstDeleted = studentBST.delete(studentId);
         boolean hashDeleted = studentHashTable.remove(studentId);
+        studentSnapshots.delete(studentId);
+        gpaRanking.remove(studentId);
+        textIndex.remove(studentId);
+        nameIndex.remove(studentId);
+        emailIndex.remove(studentId);
+        phoneIndex.remove(studentId);
+        idIndex = null;
         return bstDeleted && hashDeleted;
     }
     
     // Update student
-    public boolean updateStudent(Student student) {
+    // Rejected if the new email or phone already belongs to another student
+    public synchronized boolean updateStudent(Student student) {
         if (studentHashTable.contains(student.getStudentId())) {
+            if (!isEmailAvailable(student.getEmail(), student.getStudentId()) ||
+                !isPhoneAvailable(student.getPhone(), student.getStudentId())) {
+                return false;
+            }
+            if (studentHashTable.get(student.getStudentId()) != student) {
+                // The index holds the old object; edits in place need no rebuild
+                idIndex = null;
+            }
             studentHashTable.put(student.getStudentId(), student);
             // For BST, delete and re-insert
             studentBST.delete(student.getStudentId());
             studentBST.insert(student);
+            studentSnapshots.insert(student);
+            gpaRanking.put(student);
+            textIndex.add(student);
+            nameIndex.add(student);
+            emailIndex.put(student);
+            phoneIndex.put(student);
             return true;
         }
         return false;
     }
     
-    // Get all students
+    // Get all students, in ID order, as of this moment
     public List<Student> getAllStudents() {
-        return studentBST.getAllStudents();
+        return snapshot().getAllStudents();
+    }
+    
+    // Lazy cursor over all students in ID order - no copying, can stop early.
+    // Walks the live BST, so it is for the writing thread; use snapshot()
+    // while other threads may be writing.
+    public Stream<Student> streamStudents() {
+        return studentBST.stream();
+    }
+    
+    // Parallel cursor over all students, split along the tree
+    public Stream<Student> parallelStreamStudents() {
+        return studentBST.parallelStream();
+    }
+    
+    // Consistent read-only view of all students at this moment. Later writes
+    // are not visible through it and never wait for readers of it.
+    public PersistentStudentTree.Snapshot snapshot() {
+        return studentSnapshots.snapshot();
     }
     
-    // Search students by name
+    // Search students by name (substring, case-insensitive) using the trigram index
     public List<Student> searchStudentsByName(String name) {
-        List<Student> allStudents = getAllStudents();
-        return SearchAlgorithms.searchByName(allStudents, name);
+        return textIndex.search(name, TrigramIndex.FIELD_NAME);
+    }
+    
+    // Search students whose ID, name or department contains the text
+    public List<Student> searchStudents(String text) {
+        return textIndex.search(text, TrigramIndex.ALL_FIELDS);
+    }
+    
+    // Typo-tolerant name search through the BK-tree: names or name words
+    // within a few edits of the text (1 for up to 4 letters, 2 up to 8,
+    // 3 beyond), closest first
+    public List<Student> searchStudentsFuzzy(String name, int limit) {
+        int length = name.trim().length();
+        int maxDistance = length <= 4 ? 1 : length <= 8 ? 2 : 3;
+        return nameIndex.search(name, maxDistance, limit);
     }
     
     // Search students by department
     public List<Student> searchStudentsByDepartment(String department) {
-        List<Student> allStudents = getAllStudents();
-        return SearchAlgorithms.searchByDepartment(allStudents, department);
+        return SearchAlgorithms.searchByDepartment(snapshot(), department);
     }
     
     // Sort students by GPA
     public List<Student> sortStudentsByGPA(boolean ascending) {
-        List<Student> allStudents = getAllStudents();
-        return SortingAlgorithms.mergeSortByGPA(allStudents, ascending);
+        return SortingAlgorithms.sortByGPA(snapshot(), ascending);
     }
     
     // Sort students by name
     public List<Student> sortStudentsByName() {
-        List<Student> allStudents = getAllStudents();
-        return SortingAlgorithms.quickSortByName(allStudents);
+        return SortingAlgorithms.quickSortByName(snapshot());
+    }
+    
+    // Highest-GPA students, best first - O(log n + k), no sorting
+    public synchronized List<Student> getTopStudentsByGPA(int count) {
+        return gpaRanking.topK(count);
+    }
+    
+    // Highest-GPA students of one department, best first - O(n log k)
+    public List<Student> getTopStudentsInDepartment(String department, int count) {
+        return SortingAlgorithms.topKByKey(searchStudentsByDepartment(department), count,
+            Student::calculateGPA, true);
+    }
+    
+    // Lowest-GPA students, weakest first (ties by ID) - O(n log k)
+    public List<Student> getBottomStudentsByGPA(int count) {
+        return SortingAlgorithms.topK(snapshot(), count, LOWEST_GPA_FIRST);
+    }
+    
+    // The bottom share of students by GPA, e.g. 5 for the lowest 5%
+    public List<Student> getProbationStudents(double percent) {
+        PersistentStudentTree.Snapshot students = snapshot();
+        int count = (int) Math.ceil(students.getSize() * Math.max(0, Math.min(100, percent)) / 100.0);
+        return SortingAlgorithms.topK(students, count, LOWEST_GPA_FIRST);
+    }
+    
+    // 1-based GPA rank (1 = highest), or -1 if the student is unknown
+    public synchronized int getGPARank(String studentId) {
+        return gpaRanking.rank(studentId);
+    }
+    
+    // Student holding the given GPA rank, or null if out of range
+    public synchronized Student getStudentAtGPARank(int rank) {
+        return gpaRanking.select(rank);
+    }
+    
+    // GPA percentile from 0 to 100, or -1 if the student is unknown
+    public synchronized double getGPAPercentile(String studentId) {
+        return gpaRanking.percentile(studentId);
     }
     
     // Add result to student
-    public boolean addResultToStudent(String studentId, Result result) {
+    public synchronized boolean addResultToStudent(String studentId, Result result) {
         Student student = findStudentById(studentId);
         if (student != null) {
             student.addResult(result);
@@ -98,45 +356,90 @@ public class StudentService {
         return false;
     }
     
+    // Change the marks of one of a student's results and move the student to
+    // its new GPA rank - O(log n). Marks of stored students must be changed
+    // here rather than through Result.setMarks, or the ranking goes stale.
+    public synchronized boolean updateResultMarks(String studentId, Result result, double marks) {
+        Student student = findStudentById(studentId);
+        if (student == null || !student.getResults().contains(result)) {
+            return false;
+        }
+        result.setMarks(marks);
+        gpaRanking.put(student);
+        return true;
+    }
+    
+    // Change the credits of a course in every stored result and re-rank the
+    // students who took it - O(n + total results). Results loaded from a file
+    // carry their own Course objects, so each one is updated. The catalogue's
+    // copy is changed through CourseService.updateCredits.
+    public synchronized int updateCourseCredits(String courseCode, int credits) {
+        int affected = 0;
+        for (Student student : snapshot()) {
+            boolean took = false;
+            for (Result result : student.getResults()) {
+                if (result.getCourse().getCourseCode().equals(courseCode)) {
+                    result.getCourse().setCredits(credits);
+                    took = true;
+                }
+            }
+            if (took) {
+                gpaRanking.put(student);
+                affected++;
+            }
+        }
+        return affected;
+    }
+    
     // Get student count
     public int getStudentCount() {
-        return studentBST.getSize();
+        return studentHashTable.getSize();
     }
     
     // Generate statistics
     public String generateStatistics() {
-        List<Student> students = getAllStudents();
+        PersistentStudentTree.Snapshot students = snapshot();
         if (students.isEmpty()) {
             return "No students in the system.";
         }
         
-        double totalGPA = 0;
-        double highestGPA = 0;
-        double lowestGPA = 4.0;
-        Student topStudent = null;
-        
+        // Aggregates run over a primitive GPA column with the statistics kernels
+        int count = students.getSize();
+        double[] gpas = new double[count];
+        Student[] rows = new Student[count];
+        int index = 0;
         for (Student student : students) {
-            double gpa = student.calculateGPA();
-            totalGPA += gpa;
-            
-            if (gpa > highestGPA) {
-                highestGPA = gpa;
-                topStudent = student;
-            }
-            
-            if (gpa < lowestGPA) {
-                lowestGPA = gpa;
+            rows[index] = student;
+            gpas[index++] = student.calculateGPA();
+        }
+        StatisticsKernels.Summary summary = StatisticsKernels.summarize(gpas);
+        double averageGPA = summary.getMean();
+        double highestGPA = summary.getMax();
+        double lowestGPA = summary.getMin();
+        
+        // First student holding the highest GPA; nobody tops an all-zero class
+        Student topStudent = null;
+        for (int i = 0; i < count && highestGPA > 0; i++) {
+            if (gpas[i] == highestGPA) {
+                topStudent = rows[i];
+                break;
             }
         }
         
-        double averageGPA = totalGPA / students.size();
+        // Median by quickselect on the GPA values - O(n) average, no sort
+        double medianGPA = SortingAlgorithms.nthElement(gpas, count / 2);
+        if (count % 2 == 0) {
+            medianGPA = (medianGPA + SortingAlgorithms.nthElement(gpas, count / 2 - 1)) / 2;
+        }
         
         StringBuilder stats = new StringBuilder();
         stats.append("=== Student Statistics ===\n");
-        stats.append("Total Students: ").append(students.size()).append("\n");
+        stats.append("Total Students: ").append(count).append("\n");
         stats.append("Average GPA: ").append(String.format("%.2f", averageGPA)).append("\n");
+        stats.append("Median GPA: ").append(String.format("%.2f", medianGPA)).append("\n");
         stats.append("Highest GPA: ").append(String.format("%.2f", highestGPA)).append("\n");
         stats.append("Lowest GPA: ").append(String.format("%.2f", lowestGPA)).append("\n");
+        stats.append("GPA Std. Deviation: ").append(String.format("%.2f", summary.getStandardDeviation())).append("\n");
         if (topStudent != null) {
             stats.append("Top Student: ").append(topStudent.getName())
                 .append(" (").append(topStudent.getStudentId()).append(")\n");
@@ -144,4 +447,58 @@ public class StudentService {
         
         return stats.toString();
     }
-}
\ No newline at end of file
+    
+    // GPA and marks statistics for one department (case-insensitive). The
+    // department column is dictionary-encoded so selecting the department is
+    // an int comparison inside the kernel.
+    public String generateDepartmentStatistics(String department) {
+        PersistentStudentTree.Snapshot students = snapshot();
+        int count = students.getSize();
+        double[] gpas = new double[count];
+        int[] departmentCodes = new int[count];
+        Map<String, Integer> dictionary = new HashMap<>();
+        double[] marks = new double[16];
+        int markCount = 0;
+        String wanted = department.trim().toLowerCase(Locale.ROOT);
+        int index = 0;
+        for (Student student : students) {
+            String key = student.getDepartment().toLowerCase(Locale.ROOT);
+            Integer code = dictionary.get(key);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(key, code);
+            }
+            gpas[index] = student.calculateGPA();
+            departmentCodes[index++] = code;
+            if (key.equals(wanted)) {
+                for (Result result : student.getResults()) {
+                    if (markCount == marks.length) {
+                        marks = Arrays.copyOf(marks, markCount * 2);
+                    }
+                    marks[markCount++] = result.getMarks();
+                }
+            }
+        }
+        
+        Integer code = dictionary.get(wanted);
+        StatisticsKernels.Summary summary = StatisticsKernels.summarizeWhere(gpas, departmentCodes,
+            code == null ? -1 : code);
+        if (summary.getCount() == 0) {
+            return "No students found in this department.\n";
+        }
+        
+        double[] markColumn = Arrays.copyOf(marks, markCount);
+        
+        StringBuilder stats = new StringBuilder();
+        stats.append("Average GPA: ").append(String.format("%.2f", summary.getMean())).append("\n");
+        stats.append("Highest GPA: ").append(String.format("%.2f", summary.getMax())).append("\n");
+        stats.append("Lowest GPA: ").append(String.format("%.2f", summary.getMin())).append("\n");
+        stats.append("GPA Std. Deviation: ").append(String.format("%.2f", summary.getStandardDeviation())).append("\n");
+        stats.append("Share of Students: ").append(String.format("%.1f%%", 100.0 * summary.getCount() / count)).append("\n");
+        if (markColumn.length > 0) {
+            stats.append("Average Marks: ").append(String.format("%.1f", StatisticsKernels.mean(markColumn))).append("\n");
+            stats.append("Failing Results (below 50): ").append(StatisticsKernels.countBelow(markColumn, 50)).append("\n");
+        }
+        return stats.toString();
+    }
+}
@@ -104,7 +104,15 @@ public class CoursePanel extends JPanel {
             
             Course course = new Course(code, name, credits, department);
             
-            if (courseService.addCourse(course)) {
+            List<String> cycle = courseService.addCourse(course);
+            if (cycle == null) {
+                JOptionPane.showMessageDialog(this, "Course Code already exists!", 
+                    "Duplicate Error", JOptionPane.ERROR_MESSAGE);
+            } else if (!cycle.isEmpty()) {
+                JOptionPane.showMessageDialog(this, 
+                    "This would create a circular prerequisite:\n" + String.join(" → ", cycle), 
+                    "Circular Prerequisite", JOptionPane.ERROR_MESSAGE);
+            } else {
                 JOptionPane.showMessageDialog(this, "Course added successfully!", 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
                 clearFields();
@@ -140,6 +148,34 @@ public class CoursePanel extends JPanel {
         }
     }
     
+    private void addPrerequisite() {
+        int row = courseTable.getSelectedRow();
+        if (row == -1) {
+            JOptionPane.showMessageDialog(this, "Please select a course first!", 
+                "Selection Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        String courseCode = tableModel.getValueAt(row, 0).toString();
+        String prerequisite = JOptionPane.showInputDialog(this, 
+            "Enter prerequisite course code for " + courseCode + ":", "Add Prerequisite", 
+            JOptionPane.QUESTION_MESSAGE);
+        
+        if (prerequisite == null || prerequisite.trim().isEmpty()) return;
+        
+        List<String> cycle = courseService.addPrerequisite(courseCode, prerequisite.trim());
+        if (cycle == null) {
+            JOptionPane.showMessageDialog(this, "Course not found!", 
+                "Error", JOptionPane.ERROR_MESSAGE);
+        } else if (!cycle.isEmpty()) {
+            JOptionPane.showMessageDialog(this, 
+                "This would create a circular prerequisite:\n" + String.join(" → ", cycle), 
+                "Circular Prerequisite", JOptionPane.ERROR_MESSAGE);
+        } else {
+            refreshTable();
+        }
+    }
+    
     private void findPrerequisitePath() {
         String startCourse = JOptionPane.showInputDialog(this, 
             "Enter start course code:", "Find Prerequisite Path", 
@@ -190,6 +226,7 @@ public class CoursePanel extends JPanel {
         JButton btnAdd = new JButton("Add Course");
         JButton btnDelete = new JButton("Delete Course");
         JButton btnClear = new JButton("Clear Fields");
+        JButton btnAddPrerequisite = new JButton("Add Prerequisite");
         JButton btnFindPath = new JButton("Find Prerequisite Path");
         
         JScrollPane scrollPane = new JScrollPane();
@@ -219,11 +256,13 @@ public class CoursePanel extends JPanel {
         btnAdd.addActionListener(evt -> addCourse());
         btnDelete.addActionListener(evt -> deleteCourse());
         btnClear.addActionListener(evt -> clearFields());
+        btnAddPrerequisite.addActionListener(evt -> addPrerequisite());
         btnFindPath.addActionListener(evt -> findPrerequisitePath());
         
         buttonPanel.add(btnAdd);
         buttonPanel.add(btnDelete);
         buttonPanel.add(btnClear);
+        buttonPanel.add(btnAddPrerequisite);
         buttonPanel.add(btnFindPath);
 
         // Center Panel
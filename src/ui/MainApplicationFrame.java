@@ -128,11 +128,25 @@ public class MainApplicationFrame extends JFrame {
             // Load students from file
             java.util.List<models.Student> savedStudents = utils.DataPersistence.loadStudents();
             
-            for (models.Student student : savedStudents) {
-                studentService.addStudent(student);
-            }
+            StudentService.LoadReport report = studentService.loadStudents(savedStudents);
             
-            System.out.println("Successfully loaded " + savedStudents.size() + " students from file.");
+            System.out.println("Successfully loaded " + report.getLoaded() + " of "
+                + savedStudents.size() + " students from file.");
+            for (String problem : report.getDropped()) {
+                System.err.println("Dropped: " + problem);
+            }
+            for (String problem : report.getConflicts()) {
+                System.err.println("Conflict: " + problem);
+            }
+            if (!report.getDropped().isEmpty() || !report.getConflicts().isEmpty()) {
+                JOptionPane.showMessageDialog(this,
+                    "Loaded " + report.getLoaded() + " of " + savedStudents.size() + " students.\n"
+                        + report.getDropped().size() + " dropped (duplicate or missing ID), "
+                        + report.getConflicts().size() + " email/phone conflicts to resolve.\n"
+                        + "See the console for details.",
+                    "Load Warning",
+                    JOptionPane.WARNING_MESSAGE);
+            }
             
         } catch (Exception e) {
             System.err.println("Error loading data: " + e.getMessage());
@@ -9,6 +9,8 @@ import java.util.List;
 
 public class ReportPanel extends JPanel {
     
+    private static final int PROBATION_PERCENT = 5;
+    
     private StudentService studentService;
     private CourseService courseService;
     
@@ -27,7 +29,7 @@ public class ReportPanel extends JPanel {
     }
     
     private void generateTopStudents() {
-        List<Student> students = studentService.sortStudentsByGPA(false);
+        List<Student> students = studentService.getTopStudentsByGPA(10);
         
         StringBuilder report = new StringBuilder();
         report.append("=== TOP 10 STUDENTS BY GPA ===\n\n");
@@ -35,9 +37,7 @@ public class ReportPanel extends JPanel {
             "Student ID", "Name", "Department", "GPA"));
         report.append("=".repeat(75)).append("\n");
         
-        int count = Math.min(10, students.size());
-        for (int i = 0; i < count; i++) {
-            Student s = students.get(i);
+        for (Student s : students) {
             report.append(String.format("%-15s %-30s %-15s %-10.2f\n", 
                 s.getStudentId(), s.getName(), s.getDepartment(), s.calculateGPA()));
         }
@@ -45,6 +45,28 @@ public class ReportPanel extends JPanel {
         txtReportArea.setText(report.toString());
     }
     
+    private void generateProbationReport() {
+        List<Student> students = studentService.getProbationStudents(PROBATION_PERCENT);
+        
+        StringBuilder report = new StringBuilder();
+        report.append("=== ACADEMIC PROBATION: BOTTOM ").append(PROBATION_PERCENT).append("% BY GPA ===\n\n");
+        
+        if (students.isEmpty()) {
+            report.append("No students in the system.\n");
+        } else {
+            report.append(String.format("%-15s %-30s %-15s %-10s\n", 
+                "Student ID", "Name", "Department", "GPA"));
+            report.append("=".repeat(75)).append("\n");
+            
+            for (Student s : students) {
+                report.append(String.format("%-15s %-30s %-15s %-10.2f\n", 
+                    s.getStudentId(), s.getName(), s.getDepartment(), s.calculateGPA()));
+            }
+        }
+        
+        txtReportArea.setText(report.toString());
+    }
+    
     private void generateDepartmentReport() {
         String department = JOptionPane.showInputDialog(this, 
             "Enter Department Name:", "Department Report", 
@@ -61,27 +83,36 @@ public class ReportPanel extends JPanel {
         if (students.isEmpty()) {
             report.append("No students found in this department.\n");
         } else {
-            double totalGPA = 0;
             report.append(String.format("%-15s %-30s %-10s %-10s\n", 
                 "Student ID", "Name", "Semester", "GPA"));
             report.append("=".repeat(70)).append("\n");
             
             for (Student s : students) {
-                double gpa = s.calculateGPA();
-                totalGPA += gpa;
                 report.append(String.format("%-15s %-30s %-10d %-10.2f\n", 
-                    s.getStudentId(), s.getName(), s.getSemester(), gpa));
+                    s.getStudentId(), s.getName(), s.getSemester(), s.calculateGPA()));
             }
             
             report.append("\n");
-            report.append("Average GPA: ").append(String.format("%.2f", totalGPA / students.size()));
+            report.append(studentService.generateDepartmentStatistics(department.trim())).append("\n");
+            
+            report.append("Top Students:\n");
+            int rank = 1;
+            for (Student s : studentService.getTopStudentsInDepartment(department.trim(), 3)) {
+                report.append(String.format("  %d. %s (%s) - %.2f\n", 
+                    rank++, s.getName(), s.getStudentId(), s.calculateGPA()));
+            }
         }
         
         txtReportArea.setText(report.toString());
     }
     
     private void generateFullReport() {
-        List<Student> students = studentService.getAllStudents();
+        // Walk a snapshot so students added or deleted while the report is built
+        // don't show up half-applied. The snapshot versions the set of students
+        // only; each student's results are read once below, and since result
+        // lists are published copy-on-write that read is one whole version.
+        // Profile fields (name, email, ...) are read live.
+        Iterable<Student> students = studentService.snapshot();
         
         StringBuilder report = new StringBuilder();
         report.append("=== COMPLETE STUDENT REPORT ===\n\n");
@@ -96,9 +127,10 @@ public class ReportPanel extends JPanel {
             report.append("Semester: ").append(student.getSemester()).append("\n");
             report.append("GPA: ").append(String.format("%.2f", student.calculateGPA())).append("\n");
             
-            if (!student.getResults().isEmpty()) {
+            java.util.List<models.Result> results = student.getResults();
+            if (!results.isEmpty()) {
                 report.append("\nResults:\n");
-                for (models.Result result : student.getResults()) {
+                for (models.Result result : results) {
                     report.append(String.format("  %s - %s: %.2f (%s)\n", 
                         result.getCourse().getCourseCode(),
                         result.getCourse().getCourseName(),
@@ -137,6 +169,7 @@ public class ReportPanel extends JPanel {
         
         JButton btnStatistics = new JButton("Overall Statistics");
         JButton btnTopStudents = new JButton("Top 10 Students");
+        JButton btnProbation = new JButton("Probation List");
         JButton btnDepartment = new JButton("Department Report");
         JButton btnFullReport = new JButton("Complete Report");
         JButton btnClear = new JButton("Clear");
@@ -145,6 +178,7 @@ public class ReportPanel extends JPanel {
         Dimension btnSize = new Dimension(160, 40);
         btnStatistics.setPreferredSize(btnSize);
         btnTopStudents.setPreferredSize(btnSize);
+        btnProbation.setPreferredSize(btnSize);
         btnDepartment.setPreferredSize(btnSize);
         btnFullReport.setPreferredSize(btnSize);
         btnClear.setPreferredSize(new Dimension(120, 40));
@@ -152,12 +186,14 @@ public class ReportPanel extends JPanel {
         // Add action listeners
         btnStatistics.addActionListener(evt -> generateStatistics());
         btnTopStudents.addActionListener(evt -> generateTopStudents());
+        btnProbation.addActionListener(evt -> generateProbationReport());
         btnDepartment.addActionListener(evt -> generateDepartmentReport());
         btnFullReport.addActionListener(evt -> generateFullReport());
         btnClear.addActionListener(evt -> txtReportArea.setText("Click a button above to generate a report"));
         
         buttonPanel.add(btnStatistics);
         buttonPanel.add(btnTopStudents);
+        buttonPanel.add(btnProbation);
         buttonPanel.add(btnDepartment);
         buttonPanel.add(btnFullReport);
         buttonPanel.add(btnClear);
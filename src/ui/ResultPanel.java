@@ -62,7 +62,7 @@ public class ResultPanel extends JPanel {
             return;
         }
         
-        selectedStudent = studentService.findStudentById(studentId);
+        selectedStudent = studentService.findStudentByIdIndexed(studentId);
         
         if (selectedStudent == null) {
             JOptionPane.showMessageDialog(this, "Student not found!", 
@@ -9,6 +9,8 @@ import java.util.List;
 
 public class StudentPanel extends JPanel {
     
+    private static final int FUZZY_SEARCH_LIMIT = 20;
+    
     private StudentService studentService;
     private DefaultTableModel tableModel;
     
@@ -111,6 +113,18 @@ public class StudentPanel extends JPanel {
                 return;
             }
             
+            if (!studentService.isEmailAvailable(email, id)) {
+                JOptionPane.showMessageDialog(this, "Email is already used by another student!", 
+                    "Duplicate Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
+            if (!studentService.isPhoneAvailable(phone, id)) {
+                JOptionPane.showMessageDialog(this, "Phone is already used by another student!", 
+                    "Duplicate Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
             Student student = new Student(id, name, email, phone, department, semester);
             
             if (studentService.addStudent(student)) {
@@ -142,9 +156,24 @@ public class StudentPanel extends JPanel {
                 return;
             }
             
+            String email = txtEmail.getText().trim();
+            String phone = txtPhone.getText().trim();
+            
+            if (!studentService.isEmailAvailable(email, id)) {
+                JOptionPane.showMessageDialog(this, "Email is already used by another student!", 
+                    "Duplicate Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
+            if (!studentService.isPhoneAvailable(phone, id)) {
+                JOptionPane.showMessageDialog(this, "Phone is already used by another student!", 
+                    "Duplicate Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            
             student.setName(txtName.getText().trim());
-            student.setEmail(txtEmail.getText().trim());
-            student.setPhone(txtPhone.getText().trim());
+            student.setEmail(email);
+            student.setPhone(phone);
             student.setDepartment(txtDepartment.getText().trim());
             student.setSemester(Integer.parseInt(txtSemester.getText().trim()));
             
@@ -193,24 +222,23 @@ public class StudentPanel extends JPanel {
         }
         
         tableModel.setRowCount(0);
-        List<Student> allStudents = studentService.getAllStudents();
-        
-        for (Student student : allStudents) {
-            if (student.getStudentId().toLowerCase().contains(searchText) ||
-                student.getName().toLowerCase().contains(searchText) ||
-                student.getDepartment().toLowerCase().contains(searchText)) {
-                
-                Object[] row = {
-                    student.getStudentId(),
-                    student.getName(),
-                    student.getEmail(),
-                    student.getPhone(),
-                    student.getDepartment(),
-                    student.getSemester(),
-                    String.format("%.2f", student.calculateGPA())
-                };
-                tableModel.addRow(row);
-            }
+        List<Student> matches = studentService.searchStudents(searchText);
+        if (matches.isEmpty()) {
+            // Nothing contains the text; try names within a few typos
+            matches = studentService.searchStudentsFuzzy(searchText, FUZZY_SEARCH_LIMIT);
+        }
+        
+        for (Student student : matches) {
+            Object[] row = {
+                student.getStudentId(),
+                student.getName(),
+                student.getEmail(),
+                student.getPhone(),
+                student.getDepartment(),
+                student.getSemester(),
+                String.format("%.2f", student.calculateGPA())
+            };
+            tableModel.addRow(row);
         }
     }
     
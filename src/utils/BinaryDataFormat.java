@@ -0,0 +1,398 @@
+package utils;
+
+import models.Course;
+import models.Result;
+import models.Student;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static utils.StudentRecordCodec.readString;
+import static utils.StudentRecordCodec.readVarInt;
+import static utils.StudentRecordCodec.writeString;
+import static utils.StudentRecordCodec.writeVarInt;
+
+// Versioned binary data files for students and courses, replacing Java
+// serialization. Nothing depends on class layouts, so model classes can
+// change freely; the format changes only with FORMAT_VERSION.
+//
+// File layout:
+//   int magic "SRMS", byte version, byte kind (students or courses)
+//   dictionary: varint count, string...  - departments and course codes
+//   course table: varint count, then per course:
+//     ref code, string name, ref department, varint credits,
+//     varint prerequisiteCount, ref prerequisite...
+//   students file only: varint count, then per student:
+//     string id, name, email, phone, ref department, varint semester,
+//     varint resultCount, per result: varint courseIndex, marks
+// A ref is a dictionary index + 1, with 0 for null. Marks are stored as a
+// varint of 2 * hundredths when that is exact, otherwise as 1 followed by
+// the 8-byte double. Counts and strings use the StudentRecordCodec varints.
+//
+// Files are written to a temporary file through a buffered FileChannel
+// stream, forced to disk and then moved over the old one, so a failed save
+// never leaves a half-written file behind. The temporary file is deleted
+// when a save fails.
+public class BinaryDataFormat {
+    public static final int MAGIC = 0x53524D53; // "SRMS"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int KIND_STUDENTS = 1;
+    private static final int KIND_COURSES = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAX_EXACT_HUNDREDTHS = Integer.MAX_VALUE / 2;
+
+    // True if the file starts with the binary format's magic number
+    public static boolean isBinaryFile(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    public static void writeStudents(Path file, List<Student> students) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        Map<String, Integer> courseIndex = new LinkedHashMap<>();
+        List<Course> courses = new ArrayList<>();
+        for (Student student : students) {
+            intern(dictionary, student.getDepartment());
+            for (Result result : student.getResults()) {
+                Course course = result.getCourse();
+                if (!courseIndex.containsKey(course.getCourseCode())) {
+                    courseIndex.put(course.getCourseCode(), courses.size());
+                    courses.add(course);
+                    internCourse(dictionary, course);
+                }
+            }
+        }
+
+        try {
+            try (DataOutputStream out = openForWrite(file)) {
+                writeHeader(out, KIND_STUDENTS, dictionary);
+                writeCourseTable(out, courses, dictionary);
+                writeVarInt(out, students.size());
+                for (Student student : students) {
+                    writeString(out, student.getStudentId());
+                    writeString(out, student.getName());
+                    writeString(out, student.getEmail());
+                    writeString(out, student.getPhone());
+                    writeRef(out, dictionary, student.getDepartment());
+                    writeVarInt(out, student.getSemester());
+                    List<Result> results = student.getResults();
+                    writeVarInt(out, results.size());
+                    for (Result result : results) {
+                        writeVarInt(out, courseIndex.get(result.getCourse().getCourseCode()));
+                        writeMarks(out, result.getMarks());
+                    }
+                }
+            }
+            commit(file);
+        } catch (IOException | RuntimeException e) {
+            discard(file, e);
+            throw e;
+        }
+    }
+
+    public static List<Student> readStudents(Path file) throws IOException {
+        try (DataInputStream in = openForRead(file)) {
+            String[] dictionary = readHeader(in, KIND_STUDENTS);
+            Course[] courses = readCourseTable(in, dictionary);
+            int count = readVarInt(in);
+            List<Student> students = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Student student = new Student(readString(in), readString(in), readString(in),
+                    readString(in), readRef(in, dictionary), readVarInt(in));
+                int resultCount = readVarInt(in);
+                for (int r = 0; r < resultCount; r++) {
+                    Course course = courses[checkIndex(readVarInt(in), courses.length)];
+                    student.addResult(new Result(student, course, readMarks(in)));
+                }
+                students.add(student);
+            }
+            return students;
+        }
+    }
+
+    public static void writeCourses(Path file, List<Course> courses) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Course course : courses) {
+            internCourse(dictionary, course);
+        }
+        try {
+            try (DataOutputStream out = openForWrite(file)) {
+                writeHeader(out, KIND_COURSES, dictionary);
+                writeCourseTable(out, courses, dictionary);
+            }
+            commit(file);
+        } catch (IOException | RuntimeException e) {
+            discard(file, e);
+            throw e;
+        }
+    }
+
+    public static List<Course> readCourses(Path file) throws IOException {
+        try (DataInputStream in = openForRead(file)) {
+            String[] dictionary = readHeader(in, KIND_COURSES);
+            List<Course> courses = new ArrayList<>();
+            for (Course course : readCourseTable(in, dictionary)) {
+                courses.add(course);
+            }
+            return courses;
+        }
+    }
+
+    private static void writeHeader(DataOutput out, int kind, Map<String, Integer> dictionary) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(kind);
+        writeVarInt(out, dictionary.size());
+        for (String entry : dictionary.keySet()) {
+            writeString(out, entry);
+        }
+    }
+
+    private static String[] readHeader(DataInput in, int kind) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a student records data file");
+        }
+        int version = in.readUnsignedByte();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Unsupported data file version " + version);
+        }
+        int fileKind = in.readUnsignedByte();
+        if (fileKind != kind) {
+            throw new IOException("Unexpected data file kind " + fileKind);
+        }
+        String[] dictionary = new String[readVarInt(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(in);
+        }
+        return dictionary;
+    }
+
+    private static void writeCourseTable(DataOutput out, List<Course> courses, Map<String, Integer> dictionary)
+            throws IOException {
+        writeVarInt(out, courses.size());
+        for (Course course : courses) {
+            writeRef(out, dictionary, course.getCourseCode());
+            writeString(out, course.getCourseName());
+            writeRef(out, dictionary, course.getDepartment());
+            writeVarInt(out, course.getCredits());
+            List<String> prerequisites = course.getPrerequisites();
+            writeVarInt(out, prerequisites.size());
+            for (String prerequisite : prerequisites) {
+                writeRef(out, dictionary, prerequisite);
+            }
+        }
+    }
+
+    private static Course[] readCourseTable(DataInput in, String[] dictionary) throws IOException {
+        Course[] courses = new Course[readVarInt(in)];
+        for (int i = 0; i < courses.length; i++) {
+            String code = readRef(in, dictionary);
+            String name = readString(in);
+            String department = readRef(in, dictionary);
+            Course course = new Course(code, name, readVarInt(in), department);
+            int prerequisiteCount = readVarInt(in);
+            List<String> prerequisites = new ArrayList<>(prerequisiteCount);
+            for (int p = 0; p < prerequisiteCount; p++) {
+                prerequisites.add(readRef(in, dictionary));
+            }
+            course.setPrerequisites(prerequisites);
+            courses[i] = course;
+        }
+        return courses;
+    }
+
+    private static void internCourse(Map<String, Integer> dictionary, Course course) {
+        intern(dictionary, course.getCourseCode());
+        intern(dictionary, course.getDepartment());
+        for (String prerequisite : course.getPrerequisites()) {
+            intern(dictionary, prerequisite);
+        }
+    }
+
+    private static void intern(Map<String, Integer> dictionary, String value) {
+        if (value != null && !dictionary.containsKey(value)) {
+            dictionary.put(value, dictionary.size());
+        }
+    }
+
+    private static void writeRef(DataOutput out, Map<String, Integer> dictionary, String value) throws IOException {
+        writeVarInt(out, value == null ? 0 : dictionary.get(value) + 1);
+    }
+
+    private static String readRef(DataInput in, String[] dictionary) throws IOException {
+        int ref = readVarInt(in);
+        return ref == 0 ? null : dictionary[checkIndex(ref - 1, dictionary.length)];
+    }
+
+    // Whole and two-decimal marks fit in a short varint; anything else is
+    // kept exactly as a double
+    private static void writeMarks(DataOutput out, double marks) throws IOException {
+        long hundredths = Math.round(marks * 100);
+        if (hundredths >= 0 && hundredths <= MAX_EXACT_HUNDREDTHS && hundredths / 100.0 == marks) {
+            writeVarInt(out, (int) hundredths << 1);
+        } else {
+            writeVarInt(out, 1);
+            out.writeDouble(marks);
+        }
+    }
+
+    private static double readMarks(DataInput in) throws IOException {
+        int tag = readVarInt(in);
+        return (tag & 1) == 0 ? (tag >>> 1) / 100.0 : in.readDouble();
+    }
+
+    private static int checkIndex(int index, int length) throws IOException {
+        if (index < 0 || index >= length) {
+            throw new IOException("Corrupt data file: index " + index + " out of range");
+        }
+        return index;
+    }
+
+    private static Path temporaryFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    private static DataOutputStream openForWrite(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(temporaryFile(file), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new DataOutputStream(new ChannelOutput(channel));
+    }
+
+    private static DataInputStream openForRead(Path file) throws IOException {
+        return new DataInputStream(new ChannelInput(FileChannel.open(file, StandardOpenOption.READ)));
+    }
+
+    // Buffered stream over a FileChannel. Unlike BufferedOutputStream it takes
+    // no lock per byte, which matters with one write per varint byte.
+    private static final class ChannelOutput extends OutputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        ChannelOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        // Flush and force the data to disk, so the file is durable before
+        // commit() moves it into place
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // Buffered input over a FileChannel, the reading side of ChannelOutput
+    private static final class ChannelInput extends InputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        ChannelInput(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, chunk);
+            return chunk;
+        }
+
+        private boolean fill() throws IOException {
+            buffer.clear();
+            int count = channel.read(buffer);
+            buffer.flip();
+            return count > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Remove the temporary file of a failed save; a failure to delete it is
+    // attached to the original error
+    private static void discard(Path file, Exception failure) {
+        try {
+            Files.deleteIfExists(temporaryFile(file));
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void commit(Path file) throws IOException {
+        try {
+            Files.move(temporaryFile(file), file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile(file), file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -3,18 +3,22 @@ package utils;
 import models.Student;
 import models.Course;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
+// Saves in the versioned binary format (BinaryDataFormat). Files written by
+// older versions with Java serialization are still loaded, and are replaced
+// by the binary format on the next save.
 public class DataPersistence {
     private static final String STUDENTS_FILE = "students.dat";
     private static final String COURSES_FILE = "courses.dat";
     
     // Save students to file
     public static boolean saveStudents(List<Student> students) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(STUDENTS_FILE))) {
-            oos.writeObject(students);
+        try {
+            BinaryDataFormat.writeStudents(Paths.get(STUDENTS_FILE), students);
             return true;
         } catch (IOException e) {
             System.err.println("Error saving students: " + e.getMessage());
@@ -25,14 +29,16 @@ public class DataPersistence {
     // Load students from file
     @SuppressWarnings("unchecked")
     public static List<Student> loadStudents() {
-        File file = new File(STUDENTS_FILE);
-        if (!file.exists()) {
+        Path file = Paths.get(STUDENTS_FILE);
+        if (!file.toFile().exists()) {
             return new ArrayList<>();
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(STUDENTS_FILE))) {
-            return (List<Student>) ois.readObject();
+        try {
+            if (BinaryDataFormat.isBinaryFile(file)) {
+                return BinaryDataFormat.readStudents(file);
+            }
+            return (List<Student>) readLegacy(file);
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Error loading students: " + e.getMessage());
             return new ArrayList<>();
@@ -41,9 +47,8 @@ public class DataPersistence {
     
     // Save courses to file
     public static boolean saveCourses(List<Course> courses) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(COURSES_FILE))) {
-            oos.writeObject(courses);
+        try {
+            BinaryDataFormat.writeCourses(Paths.get(COURSES_FILE), courses);
             return true;
         } catch (IOException e) {
             System.err.println("Error saving courses: " + e.getMessage());
@@ -54,17 +59,27 @@ public class DataPersistence {
     // Load courses from file
     @SuppressWarnings("unchecked")
     public static List<Course> loadCourses() {
-        File file = new File(COURSES_FILE);
-        if (!file.exists()) {
+        Path file = Paths.get(COURSES_FILE);
+        if (!file.toFile().exists()) {
             return new ArrayList<>();
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(COURSES_FILE))) {
-            return (List<Course>) ois.readObject();
+        try {
+            if (BinaryDataFormat.isBinaryFile(file)) {
+                return BinaryDataFormat.readCourses(file);
+            }
+            return (List<Course>) readLegacy(file);
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Error loading courses: " + e.getMessage());
             return new ArrayList<>();
         }
     }
-}
\ No newline at end of file
+    
+    // Java-serialized file from before the binary format
+    private static Object readLegacy(Path file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(file.toFile())))) {
+            return ois.readObject();
+        }
+    }
+}
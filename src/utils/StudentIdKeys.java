@@ -0,0 +1,66 @@
+package utils;
+
+// Order-preserving 64-bit keys for student IDs, shared by RadixSort and
+// EytzingerIdIndex. A prefix of the ID is packed in a base that keeps
+// String.compareTo order, with 0 as the end marker:
+//   compact - 12 characters in base 37, for IDs of digits and upper-case
+//             letters only (e.g. "2024CS00042")
+//   ASCII   - 9 characters in base 96, for printable ASCII
+// Both return -1 for a null ID or one with a character the encoding cannot
+// hold; callers fall back to comparing full strings. IDs longer than the
+// prefix can share a key and must be told apart the same way.
+public final class StudentIdKeys {
+    public static final int COMPACT_CHARS = 12;
+    public static final int ASCII_CHARS = 9;
+
+    private static final int COMPACT_BASE = 37;
+    private static final int ASCII_BASE = 96;
+
+    private StudentIdKeys() {
+    }
+
+    // Base-37 key of the first 12 characters, or -1 if one of them is not a
+    // digit or upper-case letter
+    public static long compactKey(String studentId) {
+        if (studentId == null) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < COMPACT_CHARS; i++) {
+            int digit = 0;
+            if (i < studentId.length()) {
+                char c = studentId.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    digit = c - '0' + 1;
+                } else if (c >= 'A' && c <= 'Z') {
+                    digit = c - 'A' + 11;
+                } else {
+                    return -1;
+                }
+            }
+            key = key * COMPACT_BASE + digit;
+        }
+        return key;
+    }
+
+    // Base-96 key of the first 9 characters, or -1 if one of them is outside
+    // printable ASCII
+    public static long asciiKey(String studentId) {
+        if (studentId == null) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < ASCII_CHARS; i++) {
+            int digit = 0;
+            if (i < studentId.length()) {
+                char c = studentId.charAt(i);
+                if (c < 0x20 || c > 0x7E) {
+                    return -1;
+                }
+                digit = c - 0x20 + 1;
+            }
+            key = key * ASCII_BASE + digit;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,127 @@
+package utils;
+
+import models.Course;
+import models.Result;
+import models.Student;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compact binary record format for one student with its results. Strings are
+// length-prefixed UTF-8 and counts are varints, so a typical record is a small
+// fraction of its Java-serialized size. Each result carries its course inline;
+// a codec instance hands out one shared Course object per course code it reads.
+//
+// Record layout:
+//   string studentId, name, email, phone, department
+//   varint semester, varint resultCount
+//   per result: string code, name, department, varint credits,
+//               varint prerequisiteCount, string prerequisite...,
+//               double marks
+public class StudentRecordCodec {
+    private final Map<String, Course> courses;
+
+    public StudentRecordCodec() {
+        this.courses = new HashMap<>();
+    }
+
+    public void write(DataOutput out, Student student) throws IOException {
+        writeString(out, student.getStudentId());
+        writeString(out, student.getName());
+        writeString(out, student.getEmail());
+        writeString(out, student.getPhone());
+        writeString(out, student.getDepartment());
+        writeVarInt(out, student.getSemester());
+
+        List<Result> results = student.getResults();
+        writeVarInt(out, results.size());
+        for (Result result : results) {
+            Course course = result.getCourse();
+            writeString(out, course.getCourseCode());
+            writeString(out, course.getCourseName());
+            writeString(out, course.getDepartment());
+            writeVarInt(out, course.getCredits());
+            List<String> prerequisites = course.getPrerequisites();
+            writeVarInt(out, prerequisites.size());
+            for (String prerequisite : prerequisites) {
+                writeString(out, prerequisite);
+            }
+            out.writeDouble(result.getMarks());
+        }
+    }
+
+    public Student read(DataInput in) throws IOException {
+        Student student = new Student(readString(in), readString(in), readString(in),
+            readString(in), readString(in), readVarInt(in));
+
+        int resultCount = readVarInt(in);
+        for (int i = 0; i < resultCount; i++) {
+            String code = readString(in);
+            String name = readString(in);
+            String department = readString(in);
+            int credits = readVarInt(in);
+            int prerequisiteCount = readVarInt(in);
+
+            Course course = courses.get(code);
+            boolean known = course != null;
+            if (!known) {
+                course = new Course(code, name, credits, department);
+                courses.put(code, course);
+            }
+            for (int p = 0; p < prerequisiteCount; p++) {
+                String prerequisite = readString(in);
+                if (!known) {
+                    course.addPrerequisite(prerequisite);
+                }
+            }
+            student.addResult(new Result(student, course, in.readDouble()));
+        }
+        return student;
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // Length + 1 followed by UTF-8 bytes; a length of 0 marks null
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}